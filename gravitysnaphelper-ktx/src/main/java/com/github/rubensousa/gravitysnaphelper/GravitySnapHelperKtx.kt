@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper
+
+import kotlinx.coroutines.channels.BufferOverflow
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.conflate
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.flow
+import java.util.WeakHashMap
+
+private val snapPositionBridges = WeakHashMap<GravitySnapHelper, SnapPositionBridge>()
+
+/**
+ * A [Flow] of the positions reported by [GravitySnapHelper.SnapListener.onSnap].
+ *
+ * The flow is conflated, so slow collectors only receive the latest position,
+ * and it only emits positions that are different from the previous one.
+ *
+ * A single [GravitySnapHelper.SnapListener] is registered
+ * while there's at least one collector, regardless of how many collectors there are.
+ */
+fun GravitySnapHelper.snapPositions(): Flow<Int> {
+    val bridge = synchronized(snapPositionBridges) {
+        snapPositionBridges.getOrPut(this) { SnapPositionBridge() }
+    }
+    return bridge.positions(this)
+        .conflate()
+        .distinctUntilChanged()
+}
+
+/**
+ * Shares one [GravitySnapHelper.SnapListener] between all collectors of [snapPositions].
+ *
+ * This doesn't keep a reference to the [GravitySnapHelper],
+ * so that it can be garbage collected together with its entry in [snapPositionBridges].
+ */
+private class SnapPositionBridge : GravitySnapHelper.SnapListener {
+
+    private val sharedPositions = MutableSharedFlow<Int>(
+        extraBufferCapacity = 1,
+        onBufferOverflow = BufferOverflow.DROP_OLDEST
+    )
+    private var collectors = 0
+
+    override fun onSnap(position: Int) {
+        sharedPositions.tryEmit(position)
+    }
+
+    fun positions(helper: GravitySnapHelper): Flow<Int> = flow {
+        acquire(helper)
+        try {
+            emitAll(sharedPositions)
+        } finally {
+            release(helper)
+        }
+    }
+
+    private fun acquire(helper: GravitySnapHelper) {
+        synchronized(this) {
+            if (collectors++ == 0) {
+                helper.addSnapListener(this)
+            }
+        }
+    }
+
+    private fun release(helper: GravitySnapHelper) {
+        synchronized(this) {
+            if (--collectors == 0) {
+                helper.removeSnapListener(this)
+            }
+        }
+    }
+
+}
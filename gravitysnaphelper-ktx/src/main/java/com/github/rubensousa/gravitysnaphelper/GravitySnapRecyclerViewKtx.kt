@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper
+
+import android.os.Looper
+import androidx.recyclerview.widget.RecyclerView
+import kotlinx.coroutines.CancellableContinuation
+import kotlinx.coroutines.suspendCancellableCoroutine
+import kotlin.coroutines.resume
+
+/**
+ * Smooth scrolls to [position] and suspends until the settle finishes.
+ * With [GravitySnapHelper.setSnapOffsets], [position] is the index of an offset instead.
+ *
+ * Returns immediately if [position] is already snapped.
+ * If the RecyclerView stops without snapping, e.g. because it didn't need to move
+ * or it reached an edge that isn't snapped with [GravitySnapHelper.getSnapLastItem] disabled,
+ * this returns the position of the view closest to the snap keyline instead.
+ * The listeners used to wait for the snap are removed if the coroutine is cancelled.
+ *
+ * Needs to be called from the main thread.
+ *
+ * @return the position that was snapped to,
+ * or [RecyclerView.NO_POSITION] if there's no view to snap to
+ */
+suspend fun GravitySnapRecyclerView.awaitSnap(position: Int): Int {
+    val snapOffsets = snapHelper.snapOffsets
+    if (snapOffsets != null) {
+        require(position in 0 until snapOffsets.size()) {
+            "Position $position is out of bounds for ${snapOffsets.size()} snap offsets"
+        }
+    } else {
+        val itemCount = adapter?.itemCount ?: 0
+        require(position in 0 until itemCount) {
+            "Position $position is out of bounds for $itemCount items"
+        }
+    }
+    if (scrollState == RecyclerView.SCROLL_STATE_IDLE && currentSnappedPosition == position) {
+        return position
+    }
+    return suspendCancellableCoroutine { continuation ->
+        SnapAwaiter(this, continuation).start(position)
+    }
+}
+
+/**
+ * Resumes [continuation] with the next position passed to [GravitySnapHelper.SnapListener.onSnap].
+ *
+ * The RecyclerView is also checked once the scroll is requested and a frame after it stops,
+ * since no snap is dispatched when nothing scrolls,
+ * e.g. when the target is already aligned at an edge of the list.
+ */
+private class SnapAwaiter(
+    private val recyclerView: GravitySnapRecyclerView,
+    private val continuation: CancellableContinuation<Int>
+) : RecyclerView.OnScrollListener(), GravitySnapHelper.SnapListener, Runnable {
+
+    private val snapHelper = recyclerView.snapHelper
+
+    fun start(position: Int) {
+        snapHelper.addSnapListener(this)
+        recyclerView.addOnScrollListener(this)
+        continuation.invokeOnCancellation { releaseOnMainThread() }
+        recyclerView.smoothScrollToPosition(position)
+        if (isStopped()) {
+            finish(findSnapPosition())
+        } else {
+            // The smooth scroller can also stop in its first frame without scrolling.
+            // This runs after it, since it was posted later
+            recyclerView.postOnAnimation(this)
+        }
+    }
+
+    override fun onSnap(position: Int) {
+        finish(position)
+    }
+
+    override fun onScrollStateChanged(recyclerView: RecyclerView, newState: Int) {
+        if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+            // The SnapHelper is notified after this listener and might still start a snap
+            recyclerView.postOnAnimation(this)
+        }
+    }
+
+    override fun run() {
+        if (isStopped()) {
+            finish(findSnapPosition())
+        }
+    }
+
+    private fun isStopped(): Boolean {
+        return recyclerView.scrollState == RecyclerView.SCROLL_STATE_IDLE
+                && recyclerView.layoutManager?.isSmoothScrolling != true
+    }
+
+    /**
+     * Like [GravitySnapHelper.SnapListener.onSnap],
+     * reports the closest view even at an edge of the list that isn't snapped
+     */
+    private fun findSnapPosition(): Int {
+        if (snapHelper.snapOffsets != null) {
+            // The index of the closest offset, there's no edge that isn't snapped
+            return snapHelper.currentSnappedPosition
+        }
+        val layoutManager = recyclerView.layoutManager ?: return RecyclerView.NO_POSITION
+        val snapView = snapHelper.findSnapView(layoutManager, false)
+            ?: return RecyclerView.NO_POSITION
+        return recyclerView.getChildAdapterPosition(snapView)
+    }
+
+    private fun finish(position: Int) {
+        releaseOnMainThread()
+        if (continuation.isActive) {
+            continuation.resume(position)
+        }
+    }
+
+    /**
+     * [onSnap] is called from the executor of [GravitySnapHelper.setSnapListenerExecutor]
+     * if there's one and cancellation from any thread,
+     * but the listeners of the RecyclerView can only be changed from the main thread
+     */
+    private fun releaseOnMainThread() {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            release()
+        } else {
+            recyclerView.post { release() }
+        }
+    }
+
+    private fun release() {
+        snapHelper.removeSnapListener(this)
+        recyclerView.removeOnScrollListener(this)
+        recyclerView.removeCallbacks(this)
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper
+
+import android.app.Activity
+import android.os.Looper
+import android.view.View
+import android.view.ViewGroup
+import androidx.recyclerview.widget.LinearLayoutManager
+import androidx.recyclerview.widget.RecyclerView
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.launch
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.Robolectric
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+import org.robolectric.android.controller.ActivityController
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+@RunWith(RobolectricTestRunner::class)
+class AwaitSnapTest {
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.Main)
+    private lateinit var controller: ActivityController<Activity>
+    private lateinit var recyclerView: GravitySnapRecyclerView
+    private lateinit var layoutManager: LinearLayoutManager
+
+    @Before
+    fun setup() {
+        controller = Robolectric.buildActivity(Activity::class.java).setup()
+        val activity = controller.get()
+        layoutManager = LinearLayoutManager(activity, LinearLayoutManager.HORIZONTAL, false)
+        recyclerView = GravitySnapRecyclerView(activity)
+        recyclerView.layoutManager = layoutManager
+        recyclerView.adapter = TestAdapter()
+        activity.setContentView(
+            recyclerView,
+            ViewGroup.LayoutParams(ITEM_SIZE * VISIBLE_ITEMS, ITEM_SIZE)
+        )
+        shadowOf(Looper.getMainLooper()).idle()
+    }
+
+    @After
+    fun tearDown() {
+        scope.cancel()
+        controller.pause().stop().destroy()
+    }
+
+    @Test
+    fun testAwaitSnapReturnsSnappedPosition() {
+        assertThat(awaitSnapFor(5)).isEqualTo(5)
+        assertThat(layoutManager.findViewByPosition(5)!!.left).isEqualTo(0)
+    }
+
+    @Test
+    fun testAwaitSnapReturnsWhenAlreadySnapped() {
+        assertThat(awaitSnapFor(0)).isEqualTo(0)
+    }
+
+    @Test
+    fun testAwaitSnapReturnsWhenAlignedAtEdgeWithoutSnapLastItem() {
+        // At the end of the list, so there's no snapped position and nothing scrolls
+        layoutManager.scrollToPositionWithOffset(ITEM_COUNT - VISIBLE_ITEMS, 0)
+        shadowOf(Looper.getMainLooper()).idle()
+        assertThat(recyclerView.currentSnappedPosition).isEqualTo(RecyclerView.NO_POSITION)
+
+        assertThat(awaitSnapFor(ITEM_COUNT - VISIBLE_ITEMS)).isEqualTo(ITEM_COUNT - VISIBLE_ITEMS)
+    }
+
+    @Test
+    fun testAwaitSnapReturnsWhenScrollDoesNotStart() {
+        recyclerView.enableSnapping(false)
+        recyclerView.suppressLayout(true)
+
+        assertThat(awaitSnapFor(5)).isEqualTo(RecyclerView.NO_POSITION)
+    }
+
+    @Test
+    fun testAwaitSnapReturnsWithSnapListenerExecutor() {
+        val executor = Executors.newSingleThreadExecutor()
+        recyclerView.snapHelper.snapListenerExecutor = executor
+        try {
+            assertThat(awaitSnapFor(5)).isEqualTo(5)
+            shadowOf(Looper.getMainLooper()).idle()
+
+            // The listener was removed on the main thread, so the next snap doesn't reach it
+            assertThat(awaitSnapFor(2)).isEqualTo(2)
+        } finally {
+            executor.shutdown()
+        }
+    }
+
+    @Test
+    fun testAwaitSnapAcceptsSnapOffsetIndices() {
+        // One offset every half item, so there are more offsets than items
+        recyclerView.snapHelper.snapOffsets = SnapOffsets.fromInterval(0, ITEM_SIZE / 2, 35)
+
+        assertThat(awaitSnapFor(30)).isEqualTo(30)
+        assertThat(recyclerView.computeHorizontalScrollOffset()).isEqualTo(30 * ITEM_SIZE / 2)
+    }
+
+    @Test
+    fun testAwaitSnapRejectsIndicesOutsideSnapOffsets() {
+        recyclerView.snapHelper.snapOffsets = SnapOffsets.fromInterval(0, ITEM_SIZE, 5)
+        var error: Throwable? = null
+        scope.launch(start = CoroutineStart.UNDISPATCHED) {
+            error = runCatching { recyclerView.awaitSnap(10) }.exceptionOrNull()
+        }
+
+        assertThat(error).isInstanceOf(IllegalArgumentException::class.java)
+    }
+
+    /**
+     * Runs frames until [awaitSnap] returns and fails if it doesn't
+     */
+    private fun awaitSnapFor(position: Int): Int {
+        var result: Int? = null
+        scope.launch(start = CoroutineStart.UNDISPATCHED) {
+            result = recyclerView.awaitSnap(position)
+        }
+        var time = 0L
+        while (result == null && time < MAX_WAIT_MS) {
+            shadowOf(Looper.getMainLooper()).idleFor(FRAME_MS, TimeUnit.MILLISECONDS)
+            time += FRAME_MS
+        }
+        assertThat(result).isNotNull()
+        return result!!
+    }
+
+    private class TestAdapter : RecyclerView.Adapter<RecyclerView.ViewHolder>() {
+
+        override fun onCreateViewHolder(
+            parent: ViewGroup,
+            viewType: Int
+        ): RecyclerView.ViewHolder {
+            val view = View(parent.context)
+            view.layoutParams = RecyclerView.LayoutParams(ITEM_SIZE, ITEM_SIZE)
+            return object : RecyclerView.ViewHolder(view) {}
+        }
+
+        override fun onBindViewHolder(holder: RecyclerView.ViewHolder, position: Int) {
+        }
+
+        override fun getItemCount(): Int = ITEM_COUNT
+
+    }
+
+    private companion object {
+        const val ITEM_COUNT = 20
+        const val ITEM_SIZE = 100
+        const val VISIBLE_ITEMS = 3
+        const val FRAME_MS = 16L
+        const val MAX_WAIT_MS = 10000L
+    }
+
+}
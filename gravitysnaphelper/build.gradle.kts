@@ -11,8 +11,18 @@ android {
     defaultConfig {
         minSdk = 21
     }
+    testOptions {
+        unitTests {
+            isIncludeAndroidResources = true
+        }
+    }
 }
 
 dependencies {
     api(libs.androidx.recyclerview)
+    implementation(libs.androidx.tracing)
+    testImplementation(libs.junit)
+    testImplementation(libs.truth)
+    testImplementation(libs.robolectric)
+    testImplementation(libs.androidx.test.core)
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import android.os.SystemClock;
+import android.view.MotionEvent;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Records the touch events and scroll state changes of an {@link OrientationAwareRecyclerView}
+ * in a compact {@link GestureTrace}.
+ * <p>
+ * Set it through {@link OrientationAwareRecyclerView#setGestureRecorder(GestureRecorder)}
+ * and read the trace with {@link GestureRecorder#getTrace()}.
+ * Only the first pointer of each touch is recorded.
+ */
+public final class GestureRecorder {
+
+    private byte[] buffer = new byte[256];
+    private int length;
+    private long lastTime;
+    private int lastX;
+    private int lastY;
+
+    public GestureRecorder() {
+        clear();
+    }
+
+    /**
+     * @return the events recorded since this recorder was created or last cleared
+     */
+    @NonNull
+    public GestureTrace getTrace() {
+        return new GestureTrace(Arrays.copyOf(buffer, length));
+    }
+
+    /**
+     * Discards all events recorded so far
+     */
+    public void clear() {
+        GestureTrace.writeHeader(buffer);
+        length = GestureTrace.HEADER_SIZE;
+        lastTime = -1;
+        lastX = 0;
+        lastY = 0;
+    }
+
+    void onMotionEvent(@NonNull MotionEvent event) {
+        final int action = event.getActionMasked();
+        if (action != MotionEvent.ACTION_DOWN
+                && action != MotionEvent.ACTION_MOVE
+                && action != MotionEvent.ACTION_UP
+                && action != MotionEvent.ACTION_CANCEL) {
+            return;
+        }
+        final int x = Math.round(event.getX() * GestureTrace.POSITION_SCALE);
+        final int y = Math.round(event.getY() * GestureTrace.POSITION_SCALE);
+        writeRecord(GestureTrace.RECORD_MOTION, event.getEventTime());
+        writeByte(action);
+        writeVarLong(encodeZigZag(x - lastX));
+        writeVarLong(encodeZigZag(y - lastY));
+        lastX = x;
+        lastY = y;
+    }
+
+    void onScrollStateChanged(int state) {
+        writeRecord(GestureTrace.RECORD_SCROLL_STATE, SystemClock.uptimeMillis());
+        writeByte(state);
+    }
+
+    private void writeRecord(int type, long time) {
+        writeByte(type);
+        writeVarLong(lastTime < 0 ? 0 : Math.max(0, time - lastTime));
+        lastTime = time;
+    }
+
+    private void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[length++] = (byte) value;
+    }
+
+    private void writeVarLong(long value) {
+        // 10 bytes fit any 64 bit value
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[length++] = (byte) value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+
+    private static long encodeZigZag(int value) {
+        return ((long) value << 1) ^ (value >> 31);
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import android.os.SystemClock;
+import android.view.MotionEvent;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.Arrays;
+
+/**
+ * Feeds a {@link GestureTrace} back into a RecyclerView and reports how it snapped.
+ * <p>
+ * Time is advanced through a {@link FrameDriver}, one frame at a time,
+ * so this can run without a device, e.g. under Robolectric with a paused main looper:
+ * <pre>
+ * replayer.replay(recyclerView, ms -&gt; shadowOf(getMainLooper()).idleFor(ms, MILLISECONDS));
+ * </pre>
+ */
+public final class GestureReplayer {
+
+    private static final long FRAME_MS = 16L;
+    private static final long MAX_SETTLE_MS = 10000L;
+
+    @NonNull
+    private final GestureTrace trace;
+
+    public GestureReplayer(@NonNull GestureTrace trace) {
+        this.trace = trace;
+    }
+
+    @NonNull
+    public Result replay(@NonNull GravitySnapRecyclerView recyclerView,
+                         @NonNull FrameDriver driver) {
+        return replay(recyclerView, recyclerView.getSnapHelper(), driver);
+    }
+
+    /**
+     * Dispatches the recorded touch events to the RecyclerView with their original timing
+     * and then waits for the RecyclerView to stop scrolling.
+     *
+     * @param recyclerView the RecyclerView to replay the trace in
+     * @param snapHelper   the {@link GravitySnapHelper} attached to recyclerView
+     * @param driver       advances the main thread clock and runs its frames
+     * @return what happened during the replay
+     */
+    @NonNull
+    public Result replay(@NonNull RecyclerView recyclerView,
+                         @NonNull GravitySnapHelper snapHelper,
+                         @NonNull FrameDriver driver) {
+        final Result result = new Result();
+        final GravitySnapHelper.SnapListener snapListener = new GravitySnapHelper.SnapListener() {
+            @Override
+            public void onSnap(int position) {
+                result.onSnap(position);
+            }
+        };
+        final RecyclerView.OnScrollListener scrollListener = new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+                // Skip changes already replaced by a nested one, e.g. the snap started on idle
+                if (newState == recyclerView.getScrollState()) {
+                    result.scrollStateChanges++;
+                }
+            }
+
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (recyclerView.getScrollState() == RecyclerView.SCROLL_STATE_SETTLING) {
+                    result.settleFrames++;
+                }
+            }
+        };
+        final boolean metricsEnabled = snapHelper.getMetricsEnabled();
+        snapHelper.setMetricsEnabled(true);
+        final SnapMetrics metrics = snapHelper.getMetrics();
+        final int resnapCount = metrics != null ? metrics.getResnapCount() : 0;
+        snapHelper.addSnapListener(snapListener);
+        recyclerView.addOnScrollListener(scrollListener);
+        try {
+            dispatchEvents(recyclerView, driver, result);
+            long settleTime = 0L;
+            while (recyclerView.getScrollState() != RecyclerView.SCROLL_STATE_IDLE
+                    && settleTime < MAX_SETTLE_MS) {
+                driver.advanceBy(FRAME_MS);
+                settleTime += FRAME_MS;
+            }
+        } finally {
+            recyclerView.removeOnScrollListener(scrollListener);
+            snapHelper.removeSnapListener(snapListener);
+            if (metrics != null) {
+                result.resnapCount = metrics.getResnapCount() - resnapCount;
+            }
+            snapHelper.setMetricsEnabled(metricsEnabled);
+        }
+        return result;
+    }
+
+    private void dispatchEvents(@NonNull RecyclerView recyclerView,
+                                @NonNull FrameDriver driver,
+                                @NonNull Result result) {
+        final GestureTrace.Reader reader = trace.newReader();
+        long downTime = SystemClock.uptimeMillis();
+        while (reader.next()) {
+            advance(driver, reader.timeDelta);
+            if (reader.type == GestureTrace.RECORD_SCROLL_STATE) {
+                result.recordedScrollStateChanges++;
+                continue;
+            }
+            final long eventTime = SystemClock.uptimeMillis();
+            if (reader.action == MotionEvent.ACTION_DOWN) {
+                downTime = eventTime;
+            }
+            final MotionEvent event = MotionEvent.obtain(downTime, eventTime, reader.action,
+                    reader.getX(), reader.getY(), 0);
+            recyclerView.dispatchTouchEvent(event);
+            event.recycle();
+        }
+    }
+
+    private void advance(@NonNull FrameDriver driver, long timeMs) {
+        long remaining = timeMs;
+        while (remaining > 0) {
+            final long step = Math.min(FRAME_MS, remaining);
+            driver.advanceBy(step);
+            remaining -= step;
+        }
+    }
+
+    /**
+     * Advances the clock of the main thread and runs everything that was due,
+     * including Choreographer frames.
+     */
+    public interface FrameDriver {
+        /**
+         * @param timeMs time to advance by in ms
+         */
+        void advanceBy(long timeMs);
+    }
+
+    /**
+     * Snap positions, settle frames and re-snaps observed while replaying a trace
+     */
+    public static final class Result {
+
+        private int[] snapPositions = new int[4];
+        private int snapCount;
+        int settleFrames;
+        int resnapCount;
+        int scrollStateChanges;
+        int recordedScrollStateChanges;
+
+        Result() {
+        }
+
+        /**
+         * @return the positions dispatched to {@link GravitySnapHelper.SnapListener}, in order
+         */
+        @NonNull
+        public synchronized int[] getSnapPositions() {
+            return Arrays.copyOf(snapPositions, snapCount);
+        }
+
+        /**
+         * @return the number of frames that scrolled while the RecyclerView was settling
+         */
+        public int getSettleFrames() {
+            return settleFrames;
+        }
+
+        /**
+         * @return the number of settles that needed another snap afterwards.
+         * See {@link SnapMetrics#getResnapCount()}
+         */
+        public int getResnapCount() {
+            return resnapCount;
+        }
+
+        /**
+         * @return the number of scroll state changes during the replay
+         */
+        public int getScrollStateChanges() {
+            return scrollStateChanges;
+        }
+
+        /**
+         * @return the number of scroll state changes in the recorded trace.
+         * Differences with {@link Result#getScrollStateChanges()} mean the replay
+         * scrolled differently from the recording
+         */
+        public int getRecordedScrollStateChanges() {
+            return recordedScrollStateChanges;
+        }
+
+        private synchronized void onSnap(int position) {
+            if (snapCount == snapPositions.length) {
+                snapPositions = Arrays.copyOf(snapPositions, snapCount * 2);
+            }
+            snapPositions[snapCount++] = position;
+        }
+    }
+}
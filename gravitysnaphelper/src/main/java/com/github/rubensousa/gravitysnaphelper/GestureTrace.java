@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Touch events and scroll state changes recorded by a {@link GestureRecorder}.
+ * <p>
+ * Use {@link GestureTrace#toByteArray()} to store a trace
+ * and {@link GestureTrace#fromByteArray(byte[])} to read it back for a {@link GestureReplayer}.
+ * <p>
+ * The format starts with a 4 byte magic and a version byte, followed by records.
+ * Every record has a type byte and the time since the previous record in ms as a varint.
+ * Touch records then have the action byte and the x and y deltas to the previous touch
+ * in 1/8 px as zigzag varints. Scroll state records have the new state byte.
+ */
+public final class GestureTrace {
+
+    static final int MAGIC = 0x47535452;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 5;
+    static final int RECORD_MOTION = 1;
+    static final int RECORD_SCROLL_STATE = 2;
+    static final float POSITION_SCALE = 8f;
+
+    private final byte[] data;
+
+    GestureTrace(@NonNull byte[] data) {
+        this.data = data;
+    }
+
+    /**
+     * @param bytes bytes previously returned by {@link GestureTrace#toByteArray()}
+     * @return the trace stored in bytes
+     * @throws IllegalArgumentException if bytes don't contain a trace in a supported version
+     */
+    @NonNull
+    public static GestureTrace fromByteArray(@NonNull byte[] bytes) {
+        if (bytes.length < HEADER_SIZE || readInt(bytes, 0) != MAGIC) {
+            throw new IllegalArgumentException("Not a gesture trace");
+        }
+        if (bytes[4] != VERSION) {
+            throw new IllegalArgumentException("Unsupported gesture trace version: " + bytes[4]);
+        }
+        return new GestureTrace(Arrays.copyOf(bytes, bytes.length));
+    }
+
+    @NonNull
+    public byte[] toByteArray() {
+        return Arrays.copyOf(data, data.length);
+    }
+
+    /**
+     * @return the size of this trace in bytes
+     */
+    public int getSize() {
+        return data.length;
+    }
+
+    @NonNull
+    Reader newReader() {
+        return new Reader(data);
+    }
+
+    static void writeHeader(@NonNull byte[] buffer) {
+        buffer[0] = (byte) (MAGIC >>> 24);
+        buffer[1] = (byte) (MAGIC >>> 16);
+        buffer[2] = (byte) (MAGIC >>> 8);
+        buffer[3] = (byte) MAGIC;
+        buffer[4] = VERSION;
+    }
+
+    private static int readInt(@NonNull byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) << 24
+                | (bytes[offset + 1] & 0xFF) << 16
+                | (bytes[offset + 2] & 0xFF) << 8
+                | (bytes[offset + 3] & 0xFF);
+    }
+
+    /**
+     * Reads the records of a trace in order, reusing the same fields for every record.
+     */
+    static final class Reader {
+
+        private final byte[] data;
+        private int offset = HEADER_SIZE;
+        private int scaledX;
+        private int scaledY;
+        int type;
+        long timeDelta;
+        int action;
+        int scrollState;
+
+        Reader(@NonNull byte[] data) {
+            this.data = data;
+        }
+
+        /**
+         * @return true if a new record was read, false at the end of the trace
+         */
+        boolean next() {
+            if (offset >= data.length) {
+                return false;
+            }
+            type = data[offset++];
+            timeDelta = readVarLong();
+            if (type == RECORD_MOTION) {
+                action = data[offset++];
+                scaledX += decodeZigZag(readVarLong());
+                scaledY += decodeZigZag(readVarLong());
+            } else if (type == RECORD_SCROLL_STATE) {
+                scrollState = data[offset++];
+            } else {
+                throw new IllegalStateException("Unknown gesture trace record: " + type);
+            }
+            return true;
+        }
+
+        float getX() {
+            return scaledX / POSITION_SCALE;
+        }
+
+        float getY() {
+            return scaledY / POSITION_SCALE;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private static int decodeZigZag(long value) {
+            return (int) ((value >>> 1) ^ -(value & 1));
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import android.graphics.Rect;
+import android.view.Gravity;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.Px;
+
+import java.util.ArrayList;
+
+/**
+ * The snap configuration of {@link GravitySnapHelper}, which can be shared by many of them,
+ * e.g. by every carousel of a feed.
+ * <p>
+ * Each {@link GravitySnapHelper} only keeps the state of the RecyclerView it's attached to,
+ * so a shared engine holds the configuration once for all rows
+ * along with the scratch buffers they use while snapping.
+ * Changes to an engine apply to the next snap of every {@link GravitySnapHelper} using it.
+ * Use {@link GravitySnapEngine#apply(boolean)} to snap all of them again right away,
+ * e.g. after changing the gravity or keyline of every row.
+ * <p>
+ * Use {@link GravitySnapHelper#GravitySnapHelper(GravitySnapEngine)}
+ * or {@link GravitySnapRecyclerView#setSnapEngine(GravitySnapEngine)} to share an engine.
+ * Engines must only be used from the main thread.
+ */
+public final class GravitySnapEngine {
+
+    int gravity;
+    float keylineFraction = GravitySnapHelper.KEYLINE_FRACTION_DISABLE;
+    boolean snapLastItem;
+    boolean snapToPadding = false;
+    float scrollMsPerInch = 100f;
+    int maxFlingDistance = GravitySnapHelper.FLING_DISTANCE_DISABLE;
+    float maxFlingSizeFraction = GravitySnapHelper.FLING_SIZE_FRACTION_DISABLE;
+    int maxFlingItems = GravitySnapHelper.FLING_ITEMS_DISABLE;
+    int maxSettleDuration = GravitySnapHelper.SETTLE_DURATION_DISABLE;
+    int settleMode = GravitySnapHelper.SETTLE_MODE_DECELERATE;
+    float springStiffness = SpringInterpolator.DEFAULT_STIFFNESS;
+    float springDampingRatio = SpringInterpolator.DEFAULT_DAMPING_RATIO;
+    @Nullable
+    SnapOffsets snapOffsets;
+
+    // Scratch buffers, only valid until the next snap calculation of any GravitySnapHelper
+    final int[] scratchDistance = new int[2];
+    final Rect scratchRect = new Rect();
+
+    // GravitySnapHelpers using this engine while attached to a RecyclerView
+    private final ArrayList<GravitySnapHelper> attachedHelpers = new ArrayList<>();
+
+    public GravitySnapEngine(int gravity) {
+        this(gravity, false);
+    }
+
+    public GravitySnapEngine(int gravity, boolean enableSnapLastItem) {
+        checkGravity(gravity);
+        this.gravity = gravity;
+        this.snapLastItem = enableSnapLastItem;
+    }
+
+    /**
+     * See {@link GravitySnapHelper#getGravity()}
+     */
+    public int getGravity() {
+        return gravity;
+    }
+
+    /**
+     * See {@link GravitySnapHelper#setGravity(int)}.
+     * Unlike it, this doesn't scroll to the new snap position
+     * until {@link GravitySnapEngine#apply(boolean)} is called.
+     */
+    public void setGravity(int gravity) {
+        checkGravity(gravity);
+        this.gravity = gravity;
+    }
+
+    public float getKeylineFraction() {
+        return keylineFraction;
+    }
+
+    /**
+     * See {@link GravitySnapHelper#setKeylineFraction(float)}.
+     * Unlike it, this doesn't scroll to the new snap position
+     * until {@link GravitySnapEngine#apply(boolean)} is called.
+     */
+    public void setKeylineFraction(float fraction) {
+        if (fraction != GravitySnapHelper.KEYLINE_FRACTION_DISABLE
+                && (fraction < 0f || fraction > 1f)) {
+            throw new IllegalArgumentException("Keyline fraction must be between 0 and 1");
+        }
+        keylineFraction = fraction;
+    }
+
+    public boolean getSnapLastItem() {
+        return snapLastItem;
+    }
+
+    /**
+     * See {@link GravitySnapHelper#setSnapLastItem(boolean)}
+     */
+    public void setSnapLastItem(boolean snap) {
+        snapLastItem = snap;
+    }
+
+    public boolean getSnapToPadding() {
+        return snapToPadding;
+    }
+
+    /**
+     * See {@link GravitySnapHelper#setSnapToPadding(boolean)}
+     */
+    public void setSnapToPadding(boolean snapToPadding) {
+        this.snapToPadding = snapToPadding;
+    }
+
+    public float getScrollMsPerInch() {
+        return scrollMsPerInch;
+    }
+
+    /**
+     * See {@link GravitySnapHelper#setScrollMsPerInch(float)}
+     */
+    public void setScrollMsPerInch(float ms) {
+        scrollMsPerInch = ms;
+    }
+
+    public int getMaxFlingDistance() {
+        return maxFlingDistance;
+    }
+
+    /**
+     * See {@link GravitySnapHelper#setMaxFlingDistance(int)}
+     */
+    public void setMaxFlingDistance(@Px int distance) {
+        maxFlingDistance = distance;
+        maxFlingSizeFraction = GravitySnapHelper.FLING_SIZE_FRACTION_DISABLE;
+        maxFlingItems = GravitySnapHelper.FLING_ITEMS_DISABLE;
+    }
+
+    public float getMaxFlingSizeFraction() {
+        return maxFlingSizeFraction;
+    }
+
+    /**
+     * See {@link GravitySnapHelper#setMaxFlingSizeFraction(float)}
+     */
+    public void setMaxFlingSizeFraction(float fraction) {
+        maxFlingDistance = GravitySnapHelper.FLING_DISTANCE_DISABLE;
+        maxFlingSizeFraction = fraction;
+        maxFlingItems = GravitySnapHelper.FLING_ITEMS_DISABLE;
+    }
+
+    public int getMaxFlingItems() {
+        return maxFlingItems;
+    }
+
+    /**
+     * See {@link GravitySnapHelper#setMaxFlingItems(int)}
+     */
+    public void setMaxFlingItems(int items) {
+        if (items != GravitySnapHelper.FLING_ITEMS_DISABLE && items < 1) {
+            throw new IllegalArgumentException("Max fling items must be at least 1");
+        }
+        maxFlingDistance = GravitySnapHelper.FLING_DISTANCE_DISABLE;
+        maxFlingSizeFraction = GravitySnapHelper.FLING_SIZE_FRACTION_DISABLE;
+        maxFlingItems = items;
+    }
+
+    public int getMaxSettleDuration() {
+        return maxSettleDuration;
+    }
+
+    /**
+     * See {@link GravitySnapHelper#setMaxSettleDuration(int)}
+     */
+    public void setMaxSettleDuration(int maxDuration) {
+        maxSettleDuration = maxDuration;
+    }
+
+    public int getSettleMode() {
+        return settleMode;
+    }
+
+    /**
+     * See {@link GravitySnapHelper#setSettleMode(int)}
+     */
+    public void setSettleMode(int mode) {
+        if (mode != GravitySnapHelper.SETTLE_MODE_DECELERATE
+                && mode != GravitySnapHelper.SETTLE_MODE_SPRING) {
+            throw new IllegalArgumentException("Invalid settle mode value. Use " +
+                    "SETTLE_MODE_DECELERATE | SETTLE_MODE_SPRING constants");
+        }
+        settleMode = mode;
+    }
+
+    public float getSpringStiffness() {
+        return springStiffness;
+    }
+
+    /**
+     * See {@link GravitySnapHelper#setSpringStiffness(float)}
+     */
+    public void setSpringStiffness(float stiffness) {
+        if (stiffness <= 0f) {
+            throw new IllegalArgumentException("Spring stiffness must be greater than 0");
+        }
+        springStiffness = stiffness;
+    }
+
+    public float getSpringDampingRatio() {
+        return springDampingRatio;
+    }
+
+    /**
+     * See {@link GravitySnapHelper#setSpringDampingRatio(float)}
+     */
+    public void setSpringDampingRatio(float dampingRatio) {
+        if (dampingRatio <= 0f) {
+            throw new IllegalArgumentException("Spring damping ratio must be greater than 0");
+        }
+        springDampingRatio = dampingRatio;
+    }
+
+    @Nullable
+    public SnapOffsets getSnapOffsets() {
+        return snapOffsets;
+    }
+
+    /**
+     * See {@link GravitySnapHelper#setSnapOffsets(SnapOffsets)}
+     */
+    public void setSnapOffsets(@Nullable SnapOffsets offsets) {
+        snapOffsets = offsets;
+    }
+
+    /**
+     * Snaps every RecyclerView attached to a {@link GravitySnapHelper} using this engine
+     * to its nearest snap position, e.g. after {@link GravitySnapEngine#setGravity(int)}
+     * or {@link GravitySnapEngine#setKeylineFraction(float)}
+     *
+     * @param smooth true if the RecyclerViews should smooth scroll, false otherwise
+     */
+    public void apply(boolean smooth) {
+        for (int i = 0; i < attachedHelpers.size(); i++) {
+            attachedHelpers.get(i).updateSnap(smooth, false);
+        }
+    }
+
+    void addAttachedHelper(@NonNull GravitySnapHelper helper) {
+        if (!attachedHelpers.contains(helper)) {
+            attachedHelpers.add(helper);
+        }
+    }
+
+    void removeAttachedHelper(@NonNull GravitySnapHelper helper) {
+        attachedHelpers.remove(helper);
+    }
+
+    static void checkGravity(int gravity) {
+        if (gravity != Gravity.START
+                && gravity != Gravity.END
+                && gravity != Gravity.BOTTOM
+                && gravity != Gravity.TOP
+                && gravity != Gravity.CENTER) {
+            throw new IllegalArgumentException("Invalid gravity value. Use START " +
+                    "| END | BOTTOM | TOP | CENTER constants");
+        }
+    }
+
+}
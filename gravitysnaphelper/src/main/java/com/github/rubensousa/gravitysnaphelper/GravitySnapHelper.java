@@ -16,9 +16,14 @@
 
 package com.github.rubensousa.gravitysnaphelper;
 
+import android.graphics.PointF;
+import android.os.SystemClock;
 import android.util.DisplayMetrics;
+import android.view.Display;
 import android.view.Gravity;
 import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewTreeObserver;
 import android.view.animation.DecelerateInterpolator;
 import android.widget.Scroller;
 
@@ -34,44 +39,85 @@ import androidx.recyclerview.widget.OrientationHelper;
 import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.Locale;
+import java.util.concurrent.Executor;
 
 /**
  * A {@link LinearSnapHelper} that allows snapping to an edge or to the center.
  * <p>
  * Possible snap positions:
  * {@link Gravity#START}, {@link Gravity#TOP}, {@link Gravity#END}, {@link Gravity#BOTTOM},
- * {@link Gravity#CENTER}.
+ * {@link Gravity#CENTER}, or any fraction of the RecyclerView
+ * with {@link GravitySnapHelper#setKeylineFraction(float)}.
  * <p>
  * To customize the scroll duration, use {@link GravitySnapHelper#setScrollMsPerInch(float)}.
  * <p>
  * To customize the maximum scroll distance during flings,
- * use {@link GravitySnapHelper#setMaxFlingSizeFraction(float)}
- * or {@link GravitySnapHelper#setMaxFlingDistance(int)}
+ * use {@link GravitySnapHelper#setMaxFlingSizeFraction(float)},
+ * {@link GravitySnapHelper#setMaxFlingDistance(int)}
+ * or {@link GravitySnapHelper#setMaxFlingItems(int)}
  */
 public class GravitySnapHelper extends LinearSnapHelper {
 
     public static final int FLING_DISTANCE_DISABLE = -1;
     public static final float FLING_SIZE_FRACTION_DISABLE = -1f;
-    private int gravity;
+    public static final int FLING_ITEMS_DISABLE = -1;
+    public static final int SETTLE_DURATION_DISABLE = -1;
+    public static final float KEYLINE_FRACTION_DISABLE = -1f;
+    public static final int SETTLE_MODE_DECELERATE = 0;
+    public static final int SETTLE_MODE_SPRING = 1;
+    // Time after which the last scroll delta doesn't count as a velocity anymore
+    private static final long VELOCITY_TIMEOUT_MS = 100L;
+    // Largest distance in px corrected at the end of a settle without another snap
+    private static final int MAX_SETTLE_RESIDUAL = 2;
+    private static final float DEFAULT_REFRESH_RATE = 60f;
+    // Fling constants of OverScroller, used to predict fling distances without simulating them
+    private static final float FLING_INFLEXION = 0.35f;
+    private static final float FLING_DECELERATION_RATE
+            = (float) (Math.log(0.78) / Math.log(0.9));
+    private static final float GRAVITY_EARTH = 9.80665f;
+    private static final float INCHES_PER_METER = 39.37f;
+    // Created by getEngine once it's needed, unless an engine is passed or set before that
+    @Nullable
+    private GravitySnapEngine engine;
+    private final int defaultGravity;
+    private final boolean defaultSnapLastItem;
     private boolean isRtl;
-    private boolean snapLastItem;
     private int nextSnapPosition;
-    private boolean isScrolling = false;
-    private boolean snapToPadding = false;
-    private float scrollMsPerInch = 100f;
-    private int maxFlingDistance = FLING_DISTANCE_DISABLE;
-    private float maxFlingSizeFraction = FLING_SIZE_FRACTION_DISABLE;
+    private float flingPhysicalCoefficient = 0f;
+    // Average size of the children visited by the last call to findView
+    private float averageChildSize = 0f;
+    // Scroll offset used by SnapOffsets, tracked from the scrolled distance, see getScrollOffset
+    private int scrollOffset = 0;
+    private boolean isScrollOffsetKnown = false;
+    // State that ended right before the snap SnapHelper is starting, see isIdleSnapPass
+    private int idleSnapState = ScrollStateMachine.SNAPPED;
+    private long impressionThrottleMs = ImpressionTracker.DEFAULT_THROTTLE_MS;
     private OrientationHelper verticalHelper;
     private OrientationHelper horizontalHelper;
-    private GravitySnapHelper.SnapListener listener;
+    // Allocated only once a feature needs them, since there can be one helper per row
+    @Nullable
+    private AnchorState anchorState;
+    @Nullable
+    private ResizeState resizeState;
+    @Nullable
+    private DeferralState deferralState;
+    @Nullable
+    private SpringState springState;
+    @Nullable
+    private MetricsState metricsState;
+    @Nullable
+    private ImpressionState impressionState;
+    @Nullable
+    private volatile SnapDispatcher snapDispatcher;
+    @Nullable
+    private ScrollStateMachine.Listener scrollListener;
+    @Nullable
+    private RecyclerView.AdapterDataObserver adapterObserver;
     private RecyclerView recyclerView;
-    private RecyclerView.OnScrollListener scrollListener = new RecyclerView.OnScrollListener() {
-        @Override
-        public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
-            super.onScrollStateChanged(recyclerView, newState);
-            GravitySnapHelper.this.onScrollStateChanged(newState);
-        }
-    };
+    @Nullable
+    private ScrollStateMachine scrollStateMachine;
+    @Nullable
+    private RecyclerView.Adapter<?> observedAdapter;
 
     public GravitySnapHelper(int gravity) {
         this(gravity, false, null);
@@ -87,72 +133,268 @@ public class GravitySnapHelper extends LinearSnapHelper {
 
     public GravitySnapHelper(int gravity, boolean enableSnapLastItem,
                              @Nullable SnapListener snapListener) {
-        if (gravity != Gravity.START
-                && gravity != Gravity.END
-                && gravity != Gravity.BOTTOM
-                && gravity != Gravity.TOP
-                && gravity != Gravity.CENTER) {
-            throw new IllegalArgumentException("Invalid gravity value. Use START " +
-                    "| END | BOTTOM | TOP | CENTER constants");
+        GravitySnapEngine.checkGravity(gravity);
+        defaultGravity = gravity;
+        defaultSnapLastItem = enableSnapLastItem;
+        if (snapListener != null) {
+            getSnapDispatcher().setListener(snapListener);
+        }
+    }
+
+    /**
+     * @param engine the configuration to snap with, which can be shared with other
+     *               GravitySnapHelpers. See {@link GravitySnapEngine}
+     */
+    public GravitySnapHelper(@NonNull GravitySnapEngine engine) {
+        this(engine, null);
+    }
+
+    public GravitySnapHelper(@NonNull GravitySnapEngine engine,
+                             @Nullable SnapListener snapListener) {
+        this.engine = engine;
+        defaultGravity = engine.gravity;
+        defaultSnapLastItem = engine.snapLastItem;
+        if (snapListener != null) {
+            getSnapDispatcher().setListener(snapListener);
         }
-        this.snapLastItem = enableSnapLastItem;
-        this.gravity = gravity;
-        this.listener = snapListener;
     }
 
     @Override
     public void attachToRecyclerView(@Nullable RecyclerView recyclerView)
             throws IllegalStateException {
-        if (this.recyclerView != null) {
-            this.recyclerView.removeOnScrollListener(scrollListener);
+        if (this.recyclerView != recyclerView) {
+            // Drop everything tied to the previous RecyclerView and its LayoutManager,
+            // e.g. when GravitySnapRecyclerView is detached from its window
+            flushImpressions();
+            if (this.recyclerView != null && engine != null) {
+                engine.removeAttachedHelper(this);
+            }
+            if (recyclerView != null) {
+                getEngine().addAttachedHelper(this);
+            }
+            if (impressionState != null) {
+                if (this.recyclerView != null) {
+                    impressionState.unregister(this.recyclerView);
+                }
+                if (recyclerView != null) {
+                    impressionState.register(recyclerView);
+                }
+            }
+            verticalHelper = null;
+            horizontalHelper = null;
+            idleSnapState = ScrollStateMachine.SNAPPED;
+            if (deferralState != null) {
+                deferralState.isSnapDeferred = false;
+            }
+            if (resizeState != null) {
+                if (this.recyclerView != null) {
+                    this.recyclerView.removeOnLayoutChangeListener(resizeState);
+                }
+                if (recyclerView != null) {
+                    registerResizeListener(recyclerView, resizeState);
+                }
+            }
+        }
+        if (resizeState != null) {
+            cancelResizeCheck(resizeState);
+            resizeState.clearTracking();
+        }
+        isScrollOffsetKnown = false;
+        if (this.recyclerView != null && scrollStateMachine != null) {
+            scrollStateMachine.removeListener(getScrollListener());
+            if (!(this.recyclerView instanceof OrientationAwareRecyclerView)) {
+                this.recyclerView.removeOnScrollListener(scrollStateMachine);
+            }
+            scrollStateMachine = null;
         }
         if (recyclerView != null) {
             recyclerView.setOnFlingListener(null);
-            if (gravity == Gravity.START || gravity == Gravity.END) {
-                isRtl = TextUtilsCompat.getLayoutDirectionFromLocale(Locale.getDefault())
-                        == ViewCompat.LAYOUT_DIRECTION_RTL;
+            // Resolved for every gravity, since both the gravity and the keyline fraction
+            // can change after attaching
+            isRtl = TextUtilsCompat.getLayoutDirectionFromLocale(Locale.getDefault())
+                    == ViewCompat.LAYOUT_DIRECTION_RTL;
+            // The display density might be different in the new RecyclerView
+            flingPhysicalCoefficient = 0f;
+            // Share the scroll state of OrientationAwareRecyclerView
+            // instead of registering another OnScrollListener
+            if (recyclerView instanceof OrientationAwareRecyclerView) {
+                scrollStateMachine
+                        = ((OrientationAwareRecyclerView) recyclerView).getScrollStateMachine();
+            } else {
+                scrollStateMachine = new ScrollStateMachine();
+                recyclerView.addOnScrollListener(scrollStateMachine);
             }
-            recyclerView.addOnScrollListener(scrollListener);
+            scrollStateMachine.addListener(getScrollListener());
             this.recyclerView = recyclerView;
         } else {
             this.recyclerView = null;
         }
+        clearAnchor();
+        updateAdapterObserver();
+        if (snapDispatcher != null) {
+            snapDispatcher.reset();
+        }
         super.attachToRecyclerView(recyclerView);
     }
 
+    /**
+     * Registers the observer used by {@link GravitySnapHelper#setAnchorSnappedItem(boolean)},
+     * {@link GravitySnapHelper#setKeepSnapOnResize(boolean)}
+     * and {@link GravitySnapHelper#setImpressionListener(SnapImpressions.Listener)}
+     * on the adapter currently set in the attached RecyclerView.
+     * <p>
+     * Needs to be called whenever the adapter of the attached RecyclerView changes,
+     * which {@link GravitySnapRecyclerView} already does.
+     */
+    void updateAdapterObserver() {
+        RecyclerView.Adapter<?> adapter = null;
+        if ((anchorState != null || resizeState != null || impressionState != null)
+                && recyclerView != null) {
+            adapter = recyclerView.getAdapter();
+        }
+        if (adapter == observedAdapter) {
+            return;
+        }
+        if (observedAdapter != null) {
+            observedAdapter.unregisterAdapterDataObserver(getAdapterObserver());
+            if (impressionState != null) {
+                // The positions belong to the previous adapter
+                impressionState.tracker.onDataSetChanged(SystemClock.uptimeMillis());
+            }
+        }
+        observedAdapter = adapter;
+        if (adapter != null) {
+            adapter.registerAdapterDataObserver(getAdapterObserver());
+        }
+        clearAnchor();
+    }
+
     @Override
     @Nullable
     public View findSnapView(@NonNull RecyclerView.LayoutManager lm) {
-        return findSnapView(lm, true);
+        final boolean isIdleSnapPass = isIdleSnapPass();
+        final DeferralState deferral = deferralState;
+        if (isIdleSnapPass && deferral != null
+                && (deferral.isSnapDeferred || isItemAnimatorRunning(deferral))) {
+            // Skip the snap while the ItemAnimator is running.
+            // It'll be done once the animations end
+            deferral.isSnapDeferred = true;
+            return null;
+        }
+        View snapView = findSnapView(lm, true);
+        // SnapHelper calls calculateDistanceToFinalSnap next and snaps if the distance isn't 0
+        idleSnapState = isIdleSnapPass && snapView != null
+                ? scrollStateMachine.getState() : ScrollStateMachine.SNAPPED;
+        return snapView;
     }
 
     @Nullable
     public View findSnapView(@NonNull RecyclerView.LayoutManager lm, boolean checkEdgeOfList) {
-        View snapView = null;
-
-        switch (gravity) {
-            case Gravity.START:
-                snapView = findView(lm, getHorizontalHelper(lm), Gravity.START, checkEdgeOfList);
-                break;
-            case Gravity.END:
-                snapView = findView(lm, getHorizontalHelper(lm), Gravity.END, checkEdgeOfList);
-                break;
-            case Gravity.TOP:
-                snapView = findView(lm, getVerticalHelper(lm), Gravity.START, checkEdgeOfList);
-                break;
-            case Gravity.BOTTOM:
-                snapView = findView(lm, getVerticalHelper(lm), Gravity.END, checkEdgeOfList);
-                break;
-            case Gravity.CENTER:
-                if (lm.canScrollHorizontally()) {
-                    snapView = findView(lm, getHorizontalHelper(lm), Gravity.CENTER,
-                            checkEdgeOfList);
-                } else {
-                    snapView = findView(lm, getVerticalHelper(lm), Gravity.CENTER,
-                            checkEdgeOfList);
+        if (recyclerView == null) {
+            // Not attached, or released while GravitySnapRecyclerView is detached
+            nextSnapPosition = RecyclerView.NO_POSITION;
+            return null;
+        }
+        final boolean traced = SnapTrace.beginSection(SnapTrace.FIND_SNAP_VIEW, getEngine().gravity,
+                lm.getChildCount());
+        final long startTime = metricsState != null ? System.nanoTime() : 0L;
+        try {
+            if (getEngine().snapOffsets != null) {
+                return findSnapViewForOffsets(lm);
+            }
+            return findSnapViewForGravity(lm, checkEdgeOfList);
+        } finally {
+            if (metricsState != null) {
+                metricsState.metrics.onFindSnapView(System.nanoTime() - startTime);
+            }
+            SnapTrace.endSection(traced);
+        }
+    }
+
+    @Override
+    @NonNull
+    public int[] calculateDistanceToFinalSnap(@NonNull RecyclerView.LayoutManager layoutManager,
+                                              @NonNull View targetView) {
+        final boolean traced = SnapTrace.beginSection(SnapTrace.CALCULATE_DISTANCE_TO_FINAL_SNAP,
+                getEngine().gravity, layoutManager.getChildCount());
+        try {
+            int[] out = calculateDistanceToSnap(layoutManager, targetView, new int[2]);
+            if (idleSnapState != ScrollStateMachine.SNAPPED) {
+                final int endedState = idleSnapState;
+                idleSnapState = ScrollStateMachine.SNAPPED;
+                if (startIdleSnap(out, endedState)) {
+                    // Already scrolling, so SnapHelper doesn't need to
+                    out[0] = 0;
+                    out[1] = 0;
                 }
-                break;
+            }
+            return out;
+        } finally {
+            SnapTrace.endSection(traced);
         }
+    }
+
+    @Override
+    public boolean onFling(int velocityX, int velocityY) {
+        if (recyclerView == null) {
+            return false;
+        }
+        if (metricsState != null) {
+            metricsState.metrics.onFling(velocityX, velocityY);
+        }
+        final boolean handled = getEngine().snapOffsets != null
+                ? flingToSnapOffset(velocityX, velocityY) : super.onFling(velocityX, velocityY);
+        if (handled && scrollStateMachine != null) {
+            scrollStateMachine.onFling();
+        }
+        return handled;
+    }
+
+    @Override
+    public int findTargetSnapPosition(RecyclerView.LayoutManager layoutManager,
+                                      int velocityX, int velocityY) {
+        final int position = getEngine().maxFlingItems != FLING_ITEMS_DISABLE
+                ? findFlingItemsTargetPosition(layoutManager, velocityX, velocityY)
+                : super.findTargetSnapPosition(layoutManager, velocityX, velocityY);
+        if (metricsState != null) {
+            metricsState.metrics.onTargetPredicted(position);
+        }
+        return position;
+    }
+
+    @Override
+    @NonNull
+    public int[] calculateScrollDistance(int velocityX, int velocityY) {
+        final boolean traced = SnapTrace.beginSection(SnapTrace.CALCULATE_SCROLL_DISTANCE,
+                getEngine().gravity, recyclerView != null ? recyclerView.getChildCount() : 0);
+        try {
+            return calculateFlingDistance(velocityX, velocityY);
+        } finally {
+            SnapTrace.endSection(traced);
+        }
+    }
+
+    @Nullable
+    @Override
+    public RecyclerView.SmoothScroller createScroller(RecyclerView.LayoutManager layoutManager) {
+        final boolean traced = SnapTrace.beginSection(SnapTrace.CREATE_SCROLLER,
+                getEngine().gravity, layoutManager != null ? layoutManager.getChildCount() : 0);
+        try {
+            return createSnapScroller(layoutManager);
+        } finally {
+            SnapTrace.endSection(traced);
+        }
+    }
+
+    @Nullable
+    private View findSnapViewForGravity(@NonNull RecyclerView.LayoutManager lm,
+                                        boolean checkEdgeOfList) {
+        final boolean horizontal = isSnappingHorizontally(lm);
+        // Created even if there's no view to snap to,
+        // since calculateScrollDistance only limits flings once it exists
+        final OrientationHelper helper = horizontal
+                ? getHorizontalHelper(lm) : getVerticalHelper(lm);
+        final View snapView = findView(lm, helper, horizontal, checkEdgeOfList);
         if (snapView != null) {
             nextSnapPosition = recyclerView.getChildAdapterPosition(snapView);
         } else {
@@ -161,31 +403,233 @@ public class GravitySnapHelper extends LinearSnapHelper {
         return snapView;
     }
 
-    @Override
-    @NonNull
-    public int[] calculateDistanceToFinalSnap(@NonNull RecyclerView.LayoutManager layoutManager,
-                                              @NonNull View targetView) {
-        if (gravity == Gravity.CENTER) {
-            //noinspection ConstantConditions
-            return super.calculateDistanceToFinalSnap(layoutManager, targetView);
+    /**
+     * With {@link SnapOffsets}, any child can be returned since the distance to the snap
+     * only depends on the scroll offset. This avoids going through all children.
+     */
+    @Nullable
+    private View findSnapViewForOffsets(@NonNull RecyclerView.LayoutManager lm) {
+        if (lm.getChildCount() == 0 || getEngine().snapOffsets.size() == 0) {
+            nextSnapPosition = RecyclerView.NO_POSITION;
+            return null;
+        }
+        nextSnapPosition = getEngine().snapOffsets.findNearestIndex(getScrollOffset(lm));
+        return lm.getChildAt(0);
+    }
+
+    private boolean flingToSnapOffset(int velocityX, int velocityY) {
+        final RecyclerView.LayoutManager lm = recyclerView.getLayoutManager();
+        if (lm == null || lm.getChildCount() == 0 || getEngine().snapOffsets.size() == 0) {
+            return false;
+        }
+        final boolean horizontal = lm.canScrollHorizontally();
+        if (Math.abs(horizontal ? velocityX : velocityY) <= recyclerView.getMinFlingVelocity()) {
+            return false;
+        }
+        final int[] flingDistance = calculateScrollDistance(velocityX, velocityY);
+        final int scrollOffset = getScrollOffset(lm);
+        int index = getEngine().snapOffsets.findTargetIndex(scrollOffset,
+                horizontal ? flingDistance[0] : flingDistance[1]);
+        if (getEngine().maxFlingItems != FLING_ITEMS_DISABLE) {
+            // Every offset counts as an item
+            final int currentIndex = getEngine().snapOffsets.findNearestIndex(scrollOffset);
+            index = Math.max(currentIndex - getEngine().maxFlingItems,
+                    Math.min(currentIndex + getEngine().maxFlingItems, index));
+        }
+        if (metricsState != null) {
+            metricsState.metrics.onTargetPredicted(index);
+        }
+        return scrollToSnapOffset(lm, index, true);
+    }
+
+    /**
+     * Like {@link LinearSnapHelper#findTargetSnapPosition(RecyclerView.LayoutManager, int, int)},
+     * but the fling distance is predicted in closed form instead of with a Scroller,
+     * and divided by the average child size measured while finding the current snap view.
+     *
+     * @return the target position, at most {@link GravitySnapHelper#getMaxFlingItems()} items
+     * away from the current snap position, or {@link RecyclerView#NO_POSITION}
+     * if the fling doesn't reach another item
+     */
+    private int findFlingItemsTargetPosition(@NonNull RecyclerView.LayoutManager lm,
+                                             int velocityX, int velocityY) {
+        final int itemCount = lm.getItemCount();
+        if (itemCount == 0 || recyclerView == null
+                || !(lm instanceof RecyclerView.SmoothScroller.ScrollVectorProvider)) {
+            return RecyclerView.NO_POSITION;
+        }
+        final View currentView = findSnapView(lm, false);
+        if (currentView == null || averageChildSize <= 0f) {
+            return RecyclerView.NO_POSITION;
+        }
+        final int currentPosition = lm.getPosition(currentView);
+        if (currentPosition == RecyclerView.NO_POSITION) {
+            return RecyclerView.NO_POSITION;
+        }
+        final boolean horizontal = lm.canScrollHorizontally();
+        final int velocity = horizontal ? velocityX : velocityY;
+        final int items = Math.min(getEngine().maxFlingItems,
+                Math.round(predictFlingDistance(Math.abs(velocity)) / averageChildSize));
+        if (items == 0) {
+            return RecyclerView.NO_POSITION;
+        }
+        final PointF vectorForEnd = ((RecyclerView.SmoothScroller.ScrollVectorProvider) lm)
+                .computeScrollVectorForPosition(itemCount - 1);
+        if (vectorForEnd == null) {
+            return RecyclerView.NO_POSITION;
+        }
+        int delta = velocity > 0 ? items : -items;
+        if ((horizontal ? vectorForEnd.x : vectorForEnd.y) < 0) {
+            delta = -delta;
+        }
+        return Math.max(0, Math.min(itemCount - 1, currentPosition + delta));
+    }
+
+    /**
+     * @param velocity fling velocity in px per second
+     * @return the distance in px a fling with this velocity travels in OverScroller
+     */
+    private float predictFlingDistance(int velocity) {
+        if (velocity == 0) {
+            return 0f;
+        }
+        if (flingPhysicalCoefficient == 0f) {
+            final float ppi = recyclerView.getResources().getDisplayMetrics().density * 160f;
+            flingPhysicalCoefficient = GRAVITY_EARTH * INCHES_PER_METER * ppi * 0.84f;
+        }
+        final float friction = ViewConfiguration.getScrollFriction();
+        final double l = Math.log(FLING_INFLEXION * velocity
+                / (friction * flingPhysicalCoefficient));
+        return (float) (friction * flingPhysicalCoefficient
+                * Math.exp(FLING_DECELERATION_RATE / (FLING_DECELERATION_RATE - 1) * l));
+    }
+
+    private boolean scrollToSnapOffset(@NonNull RecyclerView.LayoutManager lm, int index,
+                                       boolean smooth) {
+        if (index < 0 || index >= getEngine().snapOffsets.size()) {
+            return false;
+        }
+        final int distance = getEngine().snapOffsets.get(index) - getScrollOffset(lm);
+        if (distance == 0) {
+            return false;
+        }
+        final int dx = lm.canScrollHorizontally() ? distance : 0;
+        final int dy = lm.canScrollHorizontally() ? 0 : distance;
+        if (smooth) {
+            recyclerView.smoothScrollBy(dx, dy);
+        } else {
+            recyclerView.scrollBy(dx, dy);
+        }
+        return true;
+    }
+
+    /**
+     * The scroll offset from computeHorizontalScrollOffset or computeVerticalScrollOffset
+     * is an estimate based on the average size of the visible items,
+     * so it's only used when the offset can't be measured or tracked.
+     *
+     * @return the exact scroll offset if the first item is laid out,
+     * otherwise the offset tracked from the distance scrolled since it was last known
+     */
+    private int getScrollOffset(@NonNull RecyclerView.LayoutManager lm) {
+        final View firstView = findFirstItemView(lm);
+        if (firstView != null) {
+            final OrientationHelper helper = lm.canScrollHorizontally()
+                    ? getHorizontalHelper(lm) : getVerticalHelper(lm);
+            scrollOffset = helper.getStartAfterPadding() - helper.getDecoratedStart(firstView);
+            isScrollOffsetKnown = true;
+        } else if (!isScrollOffsetKnown) {
+            scrollOffset = lm.canScrollHorizontally()
+                    ? recyclerView.computeHorizontalScrollOffset()
+                    : recyclerView.computeVerticalScrollOffset();
+            isScrollOffsetKnown = true;
+        }
+        return scrollOffset;
+    }
+
+    /**
+     * @return the view of the item at the start of the scroll range if it's laid out,
+     * which is the last item if the layout is reversed
+     */
+    @Nullable
+    private View findFirstItemView(@NonNull RecyclerView.LayoutManager lm) {
+        final int itemCount = lm.getItemCount();
+        if (!(lm instanceof LinearLayoutManager) || itemCount == 0) {
+            return null;
+        }
+        return lm.findViewByPosition(
+                isLayoutReversed((LinearLayoutManager) lm) ? itemCount - 1 : 0);
+    }
+
+    /**
+     * @return true if view is already at its snap position, so snapping to it doesn't scroll.
+     * Always false with {@link SnapOffsets}, since their snap positions aren't views.
+     */
+    boolean isAtSnapPosition(@NonNull RecyclerView.LayoutManager layoutManager,
+                             @NonNull View view) {
+        if (getEngine().snapOffsets != null) {
+            return false;
         }
+        final int[] out = calculateDistanceToSnap(layoutManager, view, getEngine().scratchDistance);
+        return out[0] == 0 && out[1] == 0;
+    }
 
-        int[] out = new int[2];
+    /**
+     * @param out array the distances are written to
+     * @return out
+     */
+    @NonNull
+    private int[] calculateDistanceToSnap(@NonNull RecyclerView.LayoutManager layoutManager,
+                                          @NonNull View targetView,
+                                          @NonNull int[] out) {
+        out[0] = 0;
+        out[1] = 0;
+        if (getEngine().snapOffsets != null) {
+            final int scrollOffset = getScrollOffset(layoutManager);
+            final int index = getEngine().snapOffsets.findNearestIndex(scrollOffset);
+            if (index != RecyclerView.NO_POSITION) {
+                out[layoutManager.canScrollHorizontally() ? 0 : 1]
+                        = getEngine().snapOffsets.get(index) - scrollOffset;
+            }
+            return out;
+        }
 
         if (!(layoutManager instanceof LinearLayoutManager)) {
+            if (getEngine().gravity == Gravity.CENTER
+                    && getEngine().keylineFraction == KEYLINE_FRACTION_DISABLE) {
+                //noinspection ConstantConditions
+                final int[] distances = super.calculateDistanceToFinalSnap(layoutManager,
+                        targetView);
+                out[0] = distances[0];
+                out[1] = distances[1];
+            }
+            return out;
+        }
+
+        if (getEngine().keylineFraction != KEYLINE_FRACTION_DISABLE
+                || getEngine().gravity == Gravity.CENTER) {
+            // Same as LinearSnapHelper for the center, without allocating
+            final boolean horizontal = layoutManager.canScrollHorizontally();
+            final OrientationHelper helper = horizontal
+                    ? getHorizontalHelper(layoutManager) : getVerticalHelper(layoutManager);
+            final float fraction = getSnapFraction(horizontal);
+            out[horizontal ? 0 : 1] = helper.getDecoratedStart(targetView)
+                    + (int) (helper.getDecoratedMeasurement(targetView) * fraction)
+                    - getSnapKeyline(layoutManager, helper, fraction);
             return out;
         }
 
         LinearLayoutManager lm = (LinearLayoutManager) layoutManager;
 
         if (lm.canScrollHorizontally()) {
-            if ((isRtl && gravity == Gravity.END) || (!isRtl && gravity == Gravity.START)) {
+            if ((isRtl && getEngine().gravity == Gravity.END)
+                    || (!isRtl && getEngine().gravity == Gravity.START)) {
                 out[0] = getDistanceToStart(targetView, getHorizontalHelper(lm));
             } else {
                 out[0] = getDistanceToEnd(targetView, getHorizontalHelper(lm));
             }
         } else if (lm.canScrollVertically()) {
-            if (gravity == Gravity.TOP) {
+            if (getEngine().gravity == Gravity.TOP) {
                 out[1] = getDistanceToStart(targetView, getVerticalHelper(lm));
             } else {
                 out[1] = getDistanceToEnd(targetView, getVerticalHelper(lm));
@@ -194,13 +638,12 @@ public class GravitySnapHelper extends LinearSnapHelper {
         return out;
     }
 
-    @Override
     @NonNull
-    public int[] calculateScrollDistance(int velocityX, int velocityY) {
+    private int[] calculateFlingDistance(int velocityX, int velocityY) {
         if (recyclerView == null
                 || (verticalHelper == null && horizontalHelper == null)
-                || (maxFlingDistance == FLING_DISTANCE_DISABLE
-                && maxFlingSizeFraction == FLING_SIZE_FRACTION_DISABLE)) {
+                || (getEngine().maxFlingDistance == FLING_DISTANCE_DISABLE
+                && getEngine().maxFlingSizeFraction == FLING_SIZE_FRACTION_DISABLE)) {
             return super.calculateScrollDistance(velocityX, velocityY);
         }
         final int[] out = new int[2];
@@ -216,8 +659,8 @@ public class GravitySnapHelper extends LinearSnapHelper {
     }
 
     @Nullable
-    @Override
-    public RecyclerView.SmoothScroller createScroller(RecyclerView.LayoutManager layoutManager) {
+    private RecyclerView.SmoothScroller createSnapScroller(
+            RecyclerView.LayoutManager layoutManager) {
         if (!(layoutManager instanceof RecyclerView.SmoothScroller.ScrollVectorProvider)
                 || recyclerView == null) {
             return null;
@@ -231,78 +674,406 @@ public class GravitySnapHelper extends LinearSnapHelper {
                     // The associated RecyclerView has been removed so there is no action to take.
                     return;
                 }
-                int[] snapDistances = calculateDistanceToFinalSnap(recyclerView.getLayoutManager(),
-                        targetView);
-                final int dx = snapDistances[0];
-                final int dy = snapDistances[1];
-                final int time = calculateTimeForDeceleration(Math.max(Math.abs(dx), Math.abs(dy)));
-                if (time > 0) {
-                    action.update(dx, dy, time, mDecelerateInterpolator);
+                final boolean traced = SnapTrace.beginSection(SnapTrace.ON_TARGET_FOUND,
+                        getEngine().gravity, recyclerView.getChildCount());
+                try {
+                    int[] snapDistances = calculateDistanceToFinalSnap(
+                            recyclerView.getLayoutManager(), targetView);
+                    final int dx = snapDistances[0];
+                    final int dy = snapDistances[1];
+                    final int distance = Math.max(Math.abs(dx), Math.abs(dy));
+                    if (metricsState != null) {
+                        metricsState.metrics.onSnapDistance(distance);
+                    }
+                    if (getEngine().settleMode == SETTLE_MODE_SPRING) {
+                        final SpringInterpolator interpolator = getSpringInterpolator();
+                        final int time = interpolator.start(dx != 0 ? dx : dy,
+                                getScrollVelocity());
+                        action.update(dx, dy, time, interpolator);
+                        return;
+                    }
+                    final int time = calculateTimeForDeceleration(distance);
+                    if (time > 0) {
+                        action.update(dx, dy, time, mDecelerateInterpolator);
+                    }
+                } finally {
+                    SnapTrace.endSection(traced);
                 }
             }
 
             @Override
             protected float calculateSpeedPerPixel(DisplayMetrics displayMetrics) {
-                return scrollMsPerInch / displayMetrics.densityDpi;
+                return getEngine().scrollMsPerInch / displayMetrics.densityDpi;
+            }
+
+            @Override
+            protected int calculateTimeForScrolling(int dx) {
+                return getSettleDuration(getLayoutManager(), dx,
+                        super.calculateTimeForScrolling(dx));
+            }
+
+            @Override
+            protected int calculateTimeForDeceleration(int dx) {
+                // Same as LinearSmoothScroller, but the limits are only applied once
+                return getSettleDuration(getLayoutManager(), dx,
+                        (int) Math.ceil(super.calculateTimeForScrolling(dx) / .3356));
             }
         };
     }
 
+    private int getSettleDuration(@Nullable RecyclerView.LayoutManager layoutManager,
+                                  int distance, int duration) {
+        if (getEngine().maxSettleDuration == SETTLE_DURATION_DISABLE || recyclerView == null
+                || layoutManager == null || duration <= 0) {
+            return duration;
+        }
+        final int absDistance = Math.abs(distance);
+        final int viewportSize = layoutManager.canScrollHorizontally()
+                ? recyclerView.getWidth() : recyclerView.getHeight();
+        int settleDuration = duration;
+        if (viewportSize > 0 && absDistance > viewportSize) {
+            // Past one viewport, the duration grows with the square root of the distance
+            settleDuration = (int) Math.ceil(duration
+                    * Math.sqrt((double) viewportSize / absDistance));
+        }
+        final float frameDuration = 1000f / getRefreshRate();
+        final int maxFrames = Math.max(1, (int) (getEngine().maxSettleDuration / frameDuration));
+        final int frames = Math.min(maxFrames, (int) Math.ceil(settleDuration / frameDuration));
+        return (int) Math.ceil(frames * frameDuration);
+    }
+
+    @NonNull
+    private SpringState getSpringState() {
+        if (springState == null) {
+            springState = new SpringState();
+        }
+        return springState;
+    }
+
+    @NonNull
+    private SpringInterpolator getSpringInterpolator() {
+        final SpringInterpolator interpolator = getSpringState().interpolator;
+        // The engine might be shared, so the spring is configured before every settle
+        interpolator.setStiffness(getEngine().springStiffness);
+        interpolator.setDampingRatio(getEngine().springDampingRatio);
+        return interpolator;
+    }
+
+    @NonNull
+    private ScrollStateMachine.Listener getScrollListener() {
+        if (scrollListener == null) {
+            scrollListener = new ScrollStateMachine.Listener() {
+                @Override
+                public void onStateChanged(int oldState, int newState) {
+                    GravitySnapHelper.this.onScrollStateChanged(oldState, newState);
+                }
+
+                @Override
+                public void onScrolled(int dx, int dy) {
+                    if (dx == 0 && dy == 0) {
+                        // A layout changed the visible range, e.g. scrollToPosition
+                        isScrollOffsetKnown = false;
+                    } else if (isScrollOffsetKnown) {
+                        // Only one of them isn't 0 with a LinearLayoutManager
+                        scrollOffset += dx + dy;
+                    }
+                    if (resizeState != null && resizeState.trackedView != null
+                            && (dx != 0 || dy != 0)) {
+                        // Scrolled away from the snapped position, e.g. by scrollBy
+                        resizeState.clearTracking();
+                    }
+                    if (getEngine().settleMode == SETTLE_MODE_SPRING) {
+                        trackScrollVelocity(dx, dy);
+                    }
+                    if (metricsState != null) {
+                        metricsState.metrics.onScrolled(scrollStateMachine.getState());
+                    }
+                    if (impressionState != null && impressionState.tracker
+                            .shouldSample(SystemClock.uptimeMillis())) {
+                        sampleImpressions(false);
+                    }
+                }
+            };
+        }
+        return scrollListener;
+    }
+
+    @NonNull
+    private SnapDispatcher getSnapDispatcher() {
+        SnapDispatcher dispatcher = snapDispatcher;
+        if (dispatcher == null) {
+            // Listeners can be added from any thread
+            synchronized (this) {
+                dispatcher = snapDispatcher;
+                if (dispatcher == null) {
+                    dispatcher = new SnapDispatcher();
+                    snapDispatcher = dispatcher;
+                }
+            }
+        }
+        return dispatcher;
+    }
+
+    @NonNull
+    private RecyclerView.AdapterDataObserver getAdapterObserver() {
+        if (adapterObserver == null) {
+            // Keeps the anchor, the resized item and the impressions in sync
+            // with the adapter updates
+            adapterObserver = new RecyclerView.AdapterDataObserver() {
+                @Override
+                public void onChanged() {
+                    if (anchorState != null) {
+                        onAnchorDataSetChanged(anchorState);
+                    }
+                    if (impressionState != null) {
+                        impressionState.tracker.onDataSetChanged(SystemClock.uptimeMillis());
+                    }
+                }
+
+                @Override
+                public void onItemRangeChanged(int positionStart, int itemCount) {
+                    final ResizeState resize = resizeState;
+                    if (resize != null && resize.trackedPosition >= positionStart
+                            && resize.trackedPosition < positionStart + itemCount) {
+                        scheduleResizeCheck(resize);
+                    }
+                }
+
+                @Override
+                public void onItemRangeInserted(int positionStart, int itemCount) {
+                    final AnchorState anchor = anchorState;
+                    if (anchor != null) {
+                        onAnchorMoved(anchor,
+                                getPositionAfterInsert(anchor.position, positionStart, itemCount),
+                                getPositionAfterInsert(nextSnapPosition, positionStart, itemCount));
+                    }
+                    if (impressionState != null) {
+                        impressionState.tracker.onItemRangeInserted(positionStart, itemCount);
+                    }
+                }
+
+                @Override
+                public void onItemRangeRemoved(int positionStart, int itemCount) {
+                    final AnchorState anchor = anchorState;
+                    if (anchor != null) {
+                        onAnchorMoved(anchor,
+                                getPositionAfterRemove(anchor.position, positionStart, itemCount),
+                                getPositionAfterRemove(nextSnapPosition, positionStart, itemCount));
+                    }
+                    if (impressionState != null) {
+                        impressionState.tracker.onItemRangeRemoved(positionStart, itemCount,
+                                SystemClock.uptimeMillis());
+                    }
+                }
+
+                @Override
+                public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+                    final AnchorState anchor = anchorState;
+                    if (anchor != null) {
+                        onAnchorMoved(anchor,
+                                getPositionAfterMove(anchor.position, fromPosition, toPosition),
+                                getPositionAfterMove(nextSnapPosition, fromPosition, toPosition));
+                    }
+                    if (impressionState != null) {
+                        impressionState.tracker.onItemRangeMoved(fromPosition, toPosition);
+                    }
+                }
+            };
+        }
+        return adapterObserver;
+    }
+
+    private void trackScrollVelocity(int dx, int dy) {
+        final SpringState spring = getSpringState();
+        final long time = SystemClock.uptimeMillis();
+        final long elapsed = time - spring.lastScrolledTime;
+        if (elapsed >= VELOCITY_TIMEOUT_MS) {
+            spring.scrollVelocity = 0f;
+        } else if (elapsed > 0) {
+            spring.scrollVelocity = (dx != 0 ? dx : dy) * 1000f / elapsed;
+        }
+        spring.lastScrolledTime = time;
+    }
+
+    private float getScrollVelocity() {
+        final SpringState spring = springState;
+        if (spring == null
+                || SystemClock.uptimeMillis() - spring.lastScrolledTime >= VELOCITY_TIMEOUT_MS) {
+            return 0f;
+        }
+        return spring.scrollVelocity;
+    }
+
+    private void resetScrollVelocity() {
+        if (springState != null) {
+            springState.scrollVelocity = 0f;
+        }
+    }
+
+    private float getRefreshRate() {
+        final Display display = recyclerView.getDisplay();
+        if (display == null) {
+            return DEFAULT_REFRESH_RATE;
+        }
+        final float refreshRate = display.getRefreshRate();
+        return refreshRate > 0f ? refreshRate : DEFAULT_REFRESH_RATE;
+    }
+
     /**
      * Sets a {@link SnapListener} to listen for snap events
      *
      * @param listener a {@link SnapListener} that'll receive snap events or null to clear it
      */
     public void setSnapListener(@Nullable SnapListener listener) {
-        this.listener = listener;
+        if (listener != null || snapDispatcher != null) {
+            getSnapDispatcher().setListener(listener);
+        }
     }
 
     /**
-     * Changes the gravity of this {@link GravitySnapHelper}
-     * and dispatches a smooth scroll for the new snap position.
+     * Adds a {@link SnapListener} that receives snap events
+     * together with the one set through {@link GravitySnapHelper#setSnapListener(SnapListener)}.
+     * <p>
+     * Listeners can be added and removed from any thread.
      *
-     * @param newGravity one of the following: {@link Gravity#START}, {@link Gravity#TOP},
-     *                   {@link Gravity#END}, {@link Gravity#BOTTOM}, {@link Gravity#CENTER}
-     * @param smooth     true if we should smooth scroll to new edge, false otherwise
+     * @param listener a {@link SnapListener} that'll receive snap events
      */
-    public void setGravity(int newGravity, Boolean smooth) {
-        if (this.gravity != newGravity) {
-            this.gravity = newGravity;
-            updateSnap(smooth, false);
-        }
+    public void addSnapListener(@NonNull SnapListener listener) {
+        getSnapDispatcher().addListener(listener);
     }
 
     /**
-     * Updates the current view to be snapped
+     * Removes a {@link SnapListener} added through
+     * {@link GravitySnapHelper#addSnapListener(SnapListener)}
      *
-     * @param smooth          true if we should smooth scroll, false otherwise
-     * @param checkEdgeOfList true if we should check if we're at an edge of the list
-     *                        and snap according to {@link GravitySnapHelper#getSnapLastItem()},
-     *                        or false to force snapping to the nearest view
+     * @param listener the {@link SnapListener} to remove
      */
-    public void updateSnap(Boolean smooth, Boolean checkEdgeOfList) {
-        if (recyclerView == null || recyclerView.getLayoutManager() == null) {
-            return;
-        }
-        final RecyclerView.LayoutManager lm = recyclerView.getLayoutManager();
-        View snapView = findSnapView(lm, checkEdgeOfList);
-        if (snapView != null) {
-            int[] out = calculateDistanceToFinalSnap(lm, snapView);
-            if (smooth) {
-                recyclerView.smoothScrollBy(out[0], out[1]);
-            } else {
-                recyclerView.scrollBy(out[0], out[1]);
-            }
+    public void removeSnapListener(@NonNull SnapListener listener) {
+        final SnapDispatcher dispatcher = snapDispatcher;
+        if (dispatcher != null) {
+            dispatcher.removeListener(listener);
         }
     }
 
     /**
-     * This method will only work if there's a ViewHolder for the given position.
-     *
-     * @return true if scroll was successful, false otherwise
+     * @return the {@link Executor} used to deliver snap events
+     * or null if they're delivered synchronously
      */
-    public boolean scrollToPosition(int position) {
-        if (position == RecyclerView.NO_POSITION) {
+    @Nullable
+    public Executor getSnapListenerExecutor() {
+        final SnapDispatcher dispatcher = snapDispatcher;
+        return dispatcher != null ? dispatcher.getExecutor() : null;
+    }
+
+    /**
+     * Delivers {@link SnapListener#onSnap(int)} through an {@link Executor}
+     * instead of calling it synchronously when the RecyclerView stops scrolling.
+     * <p>
+     * Snap events that happen before the previous one was delivered are merged,
+     * so the listener only receives the latest position.
+     * These are counted in {@link GravitySnapHelper#getMergedSnapEventCount()}.
+     *
+     * @param executor the {@link Executor} used to deliver snap events
+     *                 or null to deliver them synchronously on the main thread
+     */
+    public void setSnapListenerExecutor(@Nullable Executor executor) {
+        if (executor != null || snapDispatcher != null) {
+            getSnapDispatcher().setExecutor(executor);
+        }
+    }
+
+    /**
+     * @return true if a snap event for the position that was just delivered is skipped.
+     * Defaults to false.
+     */
+    public boolean getSuppressDuplicateSnaps() {
+        final SnapDispatcher dispatcher = snapDispatcher;
+        return dispatcher != null && dispatcher.getSuppressDuplicates();
+    }
+
+    /**
+     * If true, {@link SnapListener#onSnap(int)} won't be called twice in a row
+     * with the same position. Skipped events are counted in
+     * {@link GravitySnapHelper#getDroppedSnapEventCount()}.
+     * <p>
+     * The default value is false.
+     *
+     * @param suppress true if repeated snap events should be skipped
+     */
+    public void setSuppressDuplicateSnaps(boolean suppress) {
+        if (suppress || snapDispatcher != null) {
+            getSnapDispatcher().setSuppressDuplicates(suppress);
+        }
+    }
+
+    /**
+     * @return the number of snap events skipped because of
+     * {@link GravitySnapHelper#setSuppressDuplicateSnaps(boolean)}
+     */
+    public int getDroppedSnapEventCount() {
+        final SnapDispatcher dispatcher = snapDispatcher;
+        return dispatcher != null ? dispatcher.getDroppedCount() : 0;
+    }
+
+    /**
+     * @return the number of snap events replaced by a newer one before being delivered
+     * through the executor set in {@link GravitySnapHelper#setSnapListenerExecutor(Executor)}
+     */
+    public int getMergedSnapEventCount() {
+        final SnapDispatcher dispatcher = snapDispatcher;
+        return dispatcher != null ? dispatcher.getMergedCount() : 0;
+    }
+
+    /**
+     * Changes the gravity of this {@link GravitySnapHelper}
+     * and dispatches a smooth scroll for the new snap position.
+     * <p>
+     * If the {@link GravitySnapEngine} is shared,
+     * every RecyclerView snapping with it scrolls to its new snap position.
+     *
+     * @param newGravity one of the following: {@link Gravity#START}, {@link Gravity#TOP},
+     *                   {@link Gravity#END}, {@link Gravity#BOTTOM}, {@link Gravity#CENTER}
+     * @param smooth     true if we should smooth scroll to new edge, false otherwise
+     */
+    public void setGravity(int newGravity, Boolean smooth) {
+        final GravitySnapEngine engine = getEngine();
+        if (engine.gravity != newGravity) {
+            engine.setGravity(newGravity);
+            engine.apply(smooth);
+        }
+    }
+
+    /**
+     * Updates the current view to be snapped
+     *
+     * @param smooth          true if we should smooth scroll, false otherwise
+     * @param checkEdgeOfList true if we should check if we're at an edge of the list
+     *                        and snap according to {@link GravitySnapHelper#getSnapLastItem()},
+     *                        or false to force snapping to the nearest view
+     */
+    public void updateSnap(Boolean smooth, Boolean checkEdgeOfList) {
+        if (recyclerView == null || recyclerView.getLayoutManager() == null) {
+            return;
+        }
+        final RecyclerView.LayoutManager lm = recyclerView.getLayoutManager();
+        View snapView = findSnapView(lm, checkEdgeOfList);
+        if (snapView != null) {
+            int[] out = calculateDistanceToFinalSnap(lm, snapView);
+            if (smooth) {
+                recyclerView.smoothScrollBy(out[0], out[1]);
+            } else {
+                recyclerView.scrollBy(out[0], out[1]);
+            }
+        }
+    }
+
+    /**
+     * This method will only work if there's a ViewHolder for the given position.
+     *
+     * @return true if scroll was successful, false otherwise
+     */
+    public boolean scrollToPosition(int position) {
+        if (position == RecyclerView.NO_POSITION) {
             return false;
         }
         return scrollTo(position, false);
@@ -324,6 +1095,57 @@ public class GravitySnapHelper extends LinearSnapHelper {
         return scrollTo(position, true);
     }
 
+    /**
+     * @return the {@link GravitySnapEngine} holding the configuration of this SnapHelper
+     */
+    @NonNull
+    public GravitySnapEngine getSnapEngine() {
+        return getEngine();
+    }
+
+    @NonNull
+    private GravitySnapEngine getEngine() {
+        if (engine == null) {
+            engine = new GravitySnapEngine(defaultGravity, defaultSnapLastItem);
+        }
+        return engine;
+    }
+
+    /**
+     * Replaces the configuration of this SnapHelper with one that can be shared
+     * with other GravitySnapHelpers, e.g. when binding a row of a feed of carousels.
+     * <p>
+     * If the gravity or keyline changes, the attached RecyclerView is snapped again
+     * without animations.
+     *
+     * @param engine the {@link GravitySnapEngine} to snap with
+     */
+    public void setSnapEngine(@NonNull GravitySnapEngine engine) {
+        if (this.engine == engine) {
+            return;
+        }
+        // The default engine doesn't need to be created just to be replaced
+        final int gravity = this.engine != null ? this.engine.gravity : defaultGravity;
+        final float keylineFraction = this.engine != null
+                ? this.engine.keylineFraction : KEYLINE_FRACTION_DISABLE;
+        final boolean keylineChanged = gravity != engine.gravity
+                || keylineFraction != engine.keylineFraction;
+        if (recyclerView != null) {
+            if (this.engine != null) {
+                this.engine.removeAttachedHelper(this);
+            }
+            engine.addAttachedHelper(this);
+        }
+        this.engine = engine;
+        resetScrollVelocity();
+        if (engine.snapOffsets != null) {
+            clearAnchor();
+        }
+        if (keylineChanged) {
+            updateSnap(false, false);
+        }
+    }
+
     /**
      * Get the current gravity being applied
      *
@@ -331,7 +1153,7 @@ public class GravitySnapHelper extends LinearSnapHelper {
      * {@link Gravity#BOTTOM}, {@link Gravity#CENTER}
      */
     public int getGravity() {
-        return this.gravity;
+        return getEngine().gravity;
     }
 
     /**
@@ -345,11 +1167,42 @@ public class GravitySnapHelper extends LinearSnapHelper {
         setGravity(newGravity, true);
     }
 
+    /**
+     * @return the fraction set through {@link GravitySnapHelper#setKeylineFraction(float)}
+     * or {@link GravitySnapHelper#KEYLINE_FRACTION_DISABLE} if the gravity is used instead
+     */
+    public float getKeylineFraction() {
+        return getEngine().keylineFraction;
+    }
+
+    /**
+     * Snaps views to a keyline at a fraction of the RecyclerView, e.g. 0.3f for carousels
+     * that show part of the previous item,
+     * and dispatches a smooth scroll for the new snap position.
+     * <p>
+     * The point at the same fraction of each view is aligned to the keyline,
+     * so 0f snaps like {@link Gravity#START}, 0.5f like {@link Gravity#CENTER}
+     * and 1f like {@link Gravity#END}. The fraction is mirrored in RTL horizontal layouts.
+     * While set, the gravity of this {@link GravitySnapHelper} is ignored.
+     * If the {@link GravitySnapEngine} is shared,
+     * every RecyclerView snapping with it scrolls to its new snap position.
+     *
+     * @param fraction a value between 0f and 1f
+     *                 or {@link GravitySnapHelper#KEYLINE_FRACTION_DISABLE} to use the gravity
+     */
+    public void setKeylineFraction(float fraction) {
+        final GravitySnapEngine engine = getEngine();
+        if (engine.keylineFraction != fraction) {
+            engine.setKeylineFraction(fraction);
+            engine.apply(true);
+        }
+    }
+
     /**
      * @return true if this SnapHelper should snap to the last item
      */
     public boolean getSnapLastItem() {
-        return snapLastItem;
+        return getEngine().snapLastItem;
     }
 
     /**
@@ -360,7 +1213,7 @@ public class GravitySnapHelper extends LinearSnapHelper {
      * @param snap true if you want to enable snapping of the last snappable item
      */
     public void setSnapLastItem(boolean snap) {
-        snapLastItem = snap;
+        getEngine().setSnapLastItem(snap);
     }
 
     /**
@@ -368,7 +1221,7 @@ public class GravitySnapHelper extends LinearSnapHelper {
      * or {@link GravitySnapHelper#FLING_DISTANCE_DISABLE} if we're not limiting the fling distance
      */
     public int getMaxFlingDistance() {
-        return maxFlingDistance;
+        return getEngine().maxFlingDistance;
     }
 
     /**
@@ -379,8 +1232,7 @@ public class GravitySnapHelper extends LinearSnapHelper {
      *                 to disable fling limits
      */
     public void setMaxFlingDistance(@Px int distance) {
-        maxFlingDistance = distance;
-        maxFlingSizeFraction = FLING_SIZE_FRACTION_DISABLE;
+        getEngine().setMaxFlingDistance(distance);
     }
 
     /**
@@ -389,7 +1241,7 @@ public class GravitySnapHelper extends LinearSnapHelper {
      * if we're not limiting the fling distance
      */
     public float getMaxFlingSizeFraction() {
-        return maxFlingSizeFraction;
+        return getEngine().maxFlingSizeFraction;
     }
 
     /**
@@ -403,8 +1255,29 @@ public class GravitySnapHelper extends LinearSnapHelper {
      *                 to disable fling limits
      */
     public void setMaxFlingSizeFraction(float fraction) {
-        maxFlingDistance = FLING_DISTANCE_DISABLE;
-        maxFlingSizeFraction = fraction;
+        getEngine().setMaxFlingSizeFraction(fraction);
+    }
+
+    /**
+     * @return last value set through {@link GravitySnapHelper#setMaxFlingItems(int)}
+     * or {@link GravitySnapHelper#FLING_ITEMS_DISABLE} if we're not limiting flings by items
+     */
+    public int getMaxFlingItems() {
+        return getEngine().maxFlingItems;
+    }
+
+    /**
+     * Changes the max fling distance to a number of items,
+     * independently of their size in the current screen.
+     * <p>
+     * The fling distance is converted to items with the average size of the visible items.
+     * With {@link GravitySnapHelper#setSnapOffsets(SnapOffsets)}, every offset counts as an item.
+     *
+     * @param items max number of items a fling can scroll by
+     *              or {@link GravitySnapHelper#FLING_ITEMS_DISABLE} to disable fling limits
+     */
+    public void setMaxFlingItems(int items) {
+        getEngine().setMaxFlingItems(items);
     }
 
     /**
@@ -412,7 +1285,7 @@ public class GravitySnapHelper extends LinearSnapHelper {
      * or 100f
      */
     public float getScrollMsPerInch() {
-        return scrollMsPerInch;
+        return getEngine().scrollMsPerInch;
     }
 
     /**
@@ -426,14 +1299,132 @@ public class GravitySnapHelper extends LinearSnapHelper {
      * @param ms scroll duration in ms per inch
      */
     public void setScrollMsPerInch(float ms) {
-        scrollMsPerInch = ms;
+        getEngine().setScrollMsPerInch(ms);
+    }
+
+    /**
+     * @return last maximum settle duration set through
+     * {@link GravitySnapHelper#setMaxSettleDuration(int)} or
+     * {@link GravitySnapHelper#SETTLE_DURATION_DISABLE}
+     */
+    public int getMaxSettleDuration() {
+        return getEngine().maxSettleDuration;
+    }
+
+    /**
+     * Limits the duration of snap animations.
+     * <p>
+     * When set, snaps longer than the RecyclerView's size won't scale linearly
+     * with {@link GravitySnapHelper#setScrollMsPerInch(float)} anymore,
+     * but with the square root of their distance, up to the duration passed here.
+     * Durations are rounded to a whole number of frames of the current display refresh rate.
+     *
+     * @param maxDuration maximum duration of a snap in ms
+     *                    or {@link GravitySnapHelper#SETTLE_DURATION_DISABLE}
+     *                    to scale the duration linearly with the distance
+     */
+    public void setMaxSettleDuration(int maxDuration) {
+        getEngine().setMaxSettleDuration(maxDuration);
+    }
+
+    @Nullable
+    public SnapOffsets getSnapOffsets() {
+        return getEngine().snapOffsets;
+    }
+
+    /**
+     * Snaps to fixed scroll offsets instead of the edges or centers of the child views.
+     * <p>
+     * While set, positions passed to and received from this SnapHelper,
+     * including the ones dispatched to {@link SnapListener}, are indexes of the offsets
+     * instead of adapter positions.
+     *
+     * @param offsets the {@link SnapOffsets} to snap to or null to snap to the child views
+     */
+    public void setSnapOffsets(@Nullable SnapOffsets offsets) {
+        getEngine().setSnapOffsets(offsets);
+        clearAnchor();
+    }
+
+    /**
+     * @return the number of positions that can be snapped to:
+     * the number of {@link SnapOffsets} if set or the number of items in the adapter
+     */
+    int getSnapPositionCount() {
+        if (getEngine().snapOffsets != null) {
+            return getEngine().snapOffsets.size();
+        }
+        final RecyclerView.Adapter<?> adapter = recyclerView != null
+                ? recyclerView.getAdapter() : null;
+        return adapter != null ? adapter.getItemCount() : 0;
+    }
+
+    /**
+     * @return last settle mode set through {@link GravitySnapHelper#setSettleMode(int)}
+     * or {@link GravitySnapHelper#SETTLE_MODE_DECELERATE}
+     */
+    public int getSettleMode() {
+        return getEngine().settleMode;
+    }
+
+    /**
+     * Sets how the RecyclerView settles on the snap position.
+     * <p>
+     * {@link GravitySnapHelper#SETTLE_MODE_DECELERATE} decelerates towards the snap position
+     * in a duration based on {@link GravitySnapHelper#setScrollMsPerInch(float)}.
+     * <p>
+     * {@link GravitySnapHelper#SETTLE_MODE_SPRING} moves the RecyclerView with a spring
+     * that starts with the current scroll velocity, so interrupted settles don't restart
+     * from a stop. The duration is given by the spring,
+     * set through {@link GravitySnapHelper#setSpringStiffness(float)}
+     * and {@link GravitySnapHelper#setSpringDampingRatio(float)}.
+     *
+     * @param mode {@link GravitySnapHelper#SETTLE_MODE_DECELERATE}
+     *             or {@link GravitySnapHelper#SETTLE_MODE_SPRING}
+     */
+    public void setSettleMode(int mode) {
+        getEngine().setSettleMode(mode);
+        resetScrollVelocity();
+    }
+
+    /**
+     * @return the stiffness of the spring used in {@link GravitySnapHelper#SETTLE_MODE_SPRING}.
+     * Defaults to 1500f
+     */
+    public float getSpringStiffness() {
+        return getEngine().springStiffness;
+    }
+
+    /**
+     * @param stiffness the stiffness of the spring used in
+     *                  {@link GravitySnapHelper#SETTLE_MODE_SPRING}. Higher values settle faster
+     */
+    public void setSpringStiffness(float stiffness) {
+        getEngine().setSpringStiffness(stiffness);
+    }
+
+    /**
+     * @return the damping ratio of the spring used in
+     * {@link GravitySnapHelper#SETTLE_MODE_SPRING}. Defaults to 1f
+     */
+    public float getSpringDampingRatio() {
+        return getEngine().springDampingRatio;
+    }
+
+    /**
+     * @param dampingRatio the damping ratio of the spring used in
+     *                     {@link GravitySnapHelper#SETTLE_MODE_SPRING}.
+     *                     Values lower than 1f overshoot the snap position before resting on it
+     */
+    public void setSpringDampingRatio(float dampingRatio) {
+        getEngine().setSpringDampingRatio(dampingRatio);
     }
 
     /**
      * @return true if this SnapHelper should snap to the padding. Defaults to false.
      */
     public boolean getSnapToPadding() {
-        return snapToPadding;
+        return getEngine().snapToPadding;
     }
 
     /**
@@ -445,111 +1436,512 @@ public class GravitySnapHelper extends LinearSnapHelper {
      * @param snapToPadding true if you want to snap to the padding
      */
     public void setSnapToPadding(boolean snapToPadding) {
-        this.snapToPadding = snapToPadding;
+        getEngine().setSnapToPadding(snapToPadding);
     }
 
     /**
-     * @return the position of the current view that's snapped
-     * or {@link RecyclerView#NO_POSITION} in case there's none.
+     * @return the metrics collected so far or null if metrics aren't being collected
      */
-    public int getCurrentSnappedPosition() {
-        if (recyclerView != null && recyclerView.getLayoutManager() != null) {
-            View snappedView = findSnapView(recyclerView.getLayoutManager());
-            if (snappedView != null) {
-                return recyclerView.getChildAdapterPosition(snappedView);
-            }
-        }
-        return RecyclerView.NO_POSITION;
+    @Nullable
+    public SnapMetrics getMetrics() {
+        return metricsState != null ? metricsState.metrics : null;
     }
 
-    private int getFlingDistance() {
-        if (maxFlingSizeFraction != FLING_SIZE_FRACTION_DISABLE) {
-            if (verticalHelper != null) {
-                return (int) (recyclerView.getHeight() * maxFlingSizeFraction);
-            } else if (horizontalHelper != null) {
-                return (int) (recyclerView.getWidth() * maxFlingSizeFraction);
-            } else {
-                return Integer.MAX_VALUE;
-            }
-        } else if (maxFlingDistance != FLING_DISTANCE_DISABLE) {
-            return maxFlingDistance;
-        } else {
-            return Integer.MAX_VALUE;
-        }
+    /**
+     * Sets a {@link SnapMetrics.Sink} that receives the {@link SnapMetrics} of every gesture.
+     * <p>
+     * Metrics are collected while a sink is set
+     * or while {@link GravitySnapHelper#setMetricsEnabled(boolean)} is enabled.
+     *
+     * @param sink a {@link SnapMetrics.Sink} or null to clear it
+     */
+    public void setMetricsSink(@Nullable SnapMetrics.Sink sink) {
+        updateMetrics(sink, getMetricsEnabled());
     }
 
     /**
-     * @return true if the scroll will snap to a view, false otherwise
+     * @return true if metrics are collected without a {@link SnapMetrics.Sink}
      */
-    private boolean scrollTo(int position, boolean smooth) {
-        if (recyclerView.getLayoutManager() != null) {
-            if (smooth) {
-                RecyclerView.SmoothScroller smoothScroller
-                        = createScroller(recyclerView.getLayoutManager());
-                if (smoothScroller != null) {
-                    smoothScroller.setTargetPosition(position);
-                    recyclerView.getLayoutManager().startSmoothScroll(smoothScroller);
-                    return true;
-                }
-            } else {
-                RecyclerView.ViewHolder viewHolder
-                        = recyclerView.findViewHolderForAdapterPosition(position);
-                if (viewHolder != null) {
-                    int[] distances = calculateDistanceToFinalSnap(recyclerView.getLayoutManager(),
-                            viewHolder.itemView);
-                    recyclerView.scrollBy(distances[0], distances[1]);
-                    return true;
-                }
-            }
-        }
-        return false;
+    public boolean getMetricsEnabled() {
+        return metricsState != null && metricsState.enabled;
     }
 
-    private int getDistanceToStart(View targetView, @NonNull OrientationHelper helper) {
-        int distance;
-        // If we don't care about padding, just snap to the start of the view
-        if (!snapToPadding) {
-            int childStart = helper.getDecoratedStart(targetView);
-            if (childStart >= helper.getStartAfterPadding() / 2) {
-                distance = childStart - helper.getStartAfterPadding();
-            } else {
-                distance = childStart;
-            }
-        } else {
-            distance = helper.getDecoratedStart(targetView) - helper.getStartAfterPadding();
-        }
-        return distance;
+    /**
+     * Enables collecting {@link SnapMetrics} without a {@link SnapMetrics.Sink}.
+     * They can be read through {@link GravitySnapHelper#getMetrics()}.
+     * <p>
+     * The default value is false.
+     *
+     * @param enabled true if metrics should be collected
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        updateMetrics(metricsState != null ? metricsState.sink : null, enabled);
     }
 
-    private int getDistanceToEnd(View targetView, @NonNull OrientationHelper helper) {
-        int distance;
+    private void updateMetrics(@Nullable SnapMetrics.Sink sink, boolean enabled) {
+        if (!enabled && sink == null) {
+            metricsState = null;
+            return;
+        }
+        if (metricsState == null) {
+            metricsState = new MetricsState();
+        }
+        metricsState.sink = sink;
+        metricsState.enabled = enabled;
+    }
 
-        if (!snapToPadding) {
-            int childEnd = helper.getDecoratedEnd(targetView);
-            if (childEnd >= helper.getEnd() - (helper.getEnd() - helper.getEndAfterPadding()) / 2) {
-                distance = helper.getDecoratedEnd(targetView) - helper.getEnd();
-            } else {
-                distance = childEnd - helper.getEndAfterPadding();
+    /**
+     * Sets a {@link SnapImpressions.Listener} that receives the visible fraction
+     * and visible duration of the items of the RecyclerView.
+     * <p>
+     * Impressions are recorded while looking for the snap view
+     * and at most once every {@link GravitySnapHelper#getImpressionThrottleMs()} while scrolling.
+     * They're delivered when the RecyclerView stops scrolling
+     * and at most once every {@link GravitySnapHelper#getImpressionThrottleMs()} otherwise.
+     * <p>
+     * Nothing is recorded while the RecyclerView isn't visible on the screen.
+     * Impressions are also sampled when anything else in the window scrolls,
+     * e.g. a parent list that moves this RecyclerView off the screen,
+     * and the items still visible are delivered one last time
+     * when the RecyclerView is detached from its window or from this GravitySnapHelper.
+     * <p>
+     * Items are tracked across adapter updates. If the adapter has stable ids,
+     * they're also tracked across {@link RecyclerView.Adapter#notifyDataSetChanged()}.
+     *
+     * @param listener a {@link SnapImpressions.Listener} or null to stop tracking impressions
+     */
+    public void setImpressionListener(@Nullable SnapImpressions.Listener listener) {
+        if (listener == null) {
+            flushImpressions();
+            if (impressionState != null && recyclerView != null) {
+                impressionState.unregister(recyclerView);
+            }
+            impressionState = null;
+        } else if (impressionState == null) {
+            impressionState = new ImpressionState(listener);
+            impressionState.tracker.setThrottleMs(impressionThrottleMs);
+            if (recyclerView != null) {
+                impressionState.register(recyclerView);
             }
         } else {
-            distance = helper.getDecoratedEnd(targetView) - helper.getEndAfterPadding();
+            impressionState.listener = listener;
         }
+        updateAdapterObserver();
+    }
 
-        return distance;
+    /**
+     * @return the minimum interval between impression samples and deliveries while scrolling.
+     * Defaults to 500ms
+     */
+    public long getImpressionThrottleMs() {
+        return impressionThrottleMs;
     }
 
     /**
-     * Returns the first view that we should snap to.
+     * Changes the minimum interval between impression samples and deliveries while scrolling.
+     *
+     * @param throttleMs the minimum interval in ms
+     */
+    public void setImpressionThrottleMs(long throttleMs) {
+        impressionThrottleMs = throttleMs;
+        if (impressionState != null) {
+            impressionState.tracker.setThrottleMs(throttleMs);
+        }
+    }
+
+    /**
+     * @return true if snapping waits for the ItemAnimator to finish. Defaults to false.
+     */
+    public boolean getDeferSnapDuringItemAnimations() {
+        return deferralState != null;
+    }
+
+    /**
+     * If true, GravitySnapHelper will wait for the animations
+     * of the RecyclerView's {@link RecyclerView.ItemAnimator} to finish before snapping,
+     * so that the snap is done only once against the final positions of the children.
+     * <p>
+     * The default value is false.
+     *
+     * @param defer true if snapping should wait for the item animations to finish
+     */
+    public void setDeferSnapDuringItemAnimations(boolean defer) {
+        if (!defer) {
+            deferralState = null;
+        } else if (deferralState == null) {
+            deferralState = new DeferralState();
+        }
+    }
+
+    /**
+     * @return true if the snapped item is kept in place across adapter updates.
+     * Defaults to false.
+     */
+    public boolean getAnchorSnappedItem() {
+        return anchorState != null;
+    }
+
+    /**
+     * If true, GravitySnapHelper will keep the snapped item in place
+     * when items are inserted, removed or moved in the adapter,
+     * so that the next layout already places it at the snap position
+     * and no corrective snap is needed afterwards.
+     * <p>
+     * If the adapter has stable ids, the snapped item is also tracked
+     * across {@link RecyclerView.Adapter#notifyDataSetChanged()}.
+     * <p>
+     * The default value is false.
+     *
+     * @param anchor true if you want to keep the snapped item in place
+     */
+    public void setAnchorSnappedItem(boolean anchor) {
+        if (!anchor) {
+            anchorState = null;
+        } else if (anchorState == null) {
+            anchorState = new AnchorState();
+        }
+        updateAdapterObserver();
+    }
+
+    /**
+     * @return true if the snapped item stays aligned when its size changes.
+     * Defaults to false.
+     */
+    public boolean getKeepSnapOnResize() {
+        return resizeState != null;
+    }
+
+    /**
+     * If true, GravitySnapHelper will keep the snapped item aligned to the snap position
+     * when its size changes, e.g. when a card expands or an inline video starts.
+     * <p>
+     * The size of the snapped item is checked after every layout of the attached RecyclerView,
+     * and after the layout of an adapter update of that item when the RecyclerView
+     * has a fixed size. If it changed, the RecyclerView is scrolled back into place
+     * before that layout is drawn, instead of snapping again in the next frames.
+     * <p>
+     * This doesn't apply while scrolling or when snapping to {@link SnapOffsets}.
+     * <p>
+     * The default value is false.
+     *
+     * @param keep true if you want to keep the snapped item aligned when it's resized
+     */
+    public void setKeepSnapOnResize(boolean keep) {
+        if (getKeepSnapOnResize() == keep) {
+            return;
+        }
+        if (keep) {
+            resizeState = new ResizeState();
+            if (recyclerView != null) {
+                registerResizeListener(recyclerView, resizeState);
+            }
+        } else {
+            cancelResizeCheck(resizeState);
+            if (recyclerView != null) {
+                recyclerView.removeOnLayoutChangeListener(resizeState);
+            }
+            resizeState = null;
+        }
+        updateAdapterObserver();
+    }
+
+    /**
+     * @return the position of the current view that's snapped
+     * or {@link RecyclerView#NO_POSITION} in case there's none.
+     */
+    public int getCurrentSnappedPosition() {
+        if (recyclerView != null && recyclerView.getLayoutManager() != null) {
+            View snappedView = findSnapView(recyclerView.getLayoutManager(), true);
+            if (snappedView != null) {
+                return getEngine().snapOffsets != null ? nextSnapPosition
+                        : recyclerView.getChildAdapterPosition(snappedView);
+            }
+        }
+        return RecyclerView.NO_POSITION;
+    }
+
+    private int getFlingDistance() {
+        if (getEngine().maxFlingSizeFraction != FLING_SIZE_FRACTION_DISABLE) {
+            if (verticalHelper != null) {
+                return (int) (recyclerView.getHeight() * getEngine().maxFlingSizeFraction);
+            } else if (horizontalHelper != null) {
+                return (int) (recyclerView.getWidth() * getEngine().maxFlingSizeFraction);
+            } else {
+                return Integer.MAX_VALUE;
+            }
+        } else if (getEngine().maxFlingDistance != FLING_DISTANCE_DISABLE) {
+            return getEngine().maxFlingDistance;
+        } else {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Counts a layout pass of the attached RecyclerView in the {@link SnapMetrics}.
+     */
+    void onLayout() {
+        if (metricsState != null) {
+            metricsState.metrics.onLayout();
+        }
+    }
+
+    /**
+     * @return the position of the last view found by
+     * {@link GravitySnapHelper#findSnapView(RecyclerView.LayoutManager, boolean)}
+     */
+    int getNextSnapPosition() {
+        return nextSnapPosition;
+    }
+
+    /**
+     * @return the coordinate, along the scrolling direction, that views are snapped to
+     */
+    int getSnapKeyline(@NonNull RecyclerView.LayoutManager lm) {
+        final boolean horizontal = lm.canScrollHorizontally();
+        final OrientationHelper helper = horizontal
+                ? getHorizontalHelper(lm) : getVerticalHelper(lm);
+        return getSnapKeyline(lm, helper, getSnapFraction(horizontal));
+    }
+
+    /**
+     * Unlike {@link GravitySnapHelper#getSnapKeyline(RecyclerView.LayoutManager)},
+     * this comes from the same distance the snap uses, so it also follows the padding
+     * that's skipped when {@link GravitySnapHelper#getSnapToPadding()} is false.
+     *
+     * @return the coordinate, along the scrolling direction, that view is snapped to
+     */
+    int getSnapKeyline(@NonNull RecyclerView.LayoutManager lm, @NonNull View view) {
+        if (getEngine().snapOffsets != null || !(lm instanceof LinearLayoutManager)) {
+            return getSnapKeyline(lm);
+        }
+        final boolean horizontal = lm.canScrollHorizontally();
+        final OrientationHelper helper = horizontal
+                ? getHorizontalHelper(lm) : getVerticalHelper(lm);
+        final int[] out = calculateDistanceToSnap(lm, view, getEngine().scratchDistance);
+        return helper.getDecoratedStart(view)
+                + (int) (helper.getDecoratedMeasurement(view) * getSnapFraction(horizontal))
+                - out[horizontal ? 0 : 1];
+    }
+
+    /**
+     * @param fraction the value of {@link GravitySnapHelper#getSnapFraction(boolean)}
+     * @return the coordinate in helper that views are snapped to
+     */
+    private int getSnapKeyline(@NonNull RecyclerView.LayoutManager lm,
+                               @NonNull OrientationHelper helper,
+                               float fraction) {
+        if (getEngine().gravity == Gravity.CENTER
+                && getEngine().keylineFraction == KEYLINE_FRACTION_DISABLE) {
+            if (lm.getClipToPadding()) {
+                return helper.getStartAfterPadding() + helper.getTotalSpace() / 2;
+            }
+            return helper.getEnd() / 2;
+        }
+        if (getEngine().snapToPadding) {
+            return helper.getStartAfterPadding() + (int) (helper.getTotalSpace() * fraction);
+        }
+        return (int) (helper.getEnd() * fraction);
+    }
+
+    /**
+     * @return the fraction of the RecyclerView where the keyline is,
+     * which is also the fraction of the snapped view that is aligned to it:
+     * 0 for the start, 0.5 for the center and 1 for the end
+     */
+    private float getSnapFraction(boolean horizontal) {
+        final float keylineFraction = getEngine().keylineFraction;
+        if (keylineFraction != KEYLINE_FRACTION_DISABLE) {
+            return horizontal && isRtl ? 1f - keylineFraction : keylineFraction;
+        }
+        if (getEngine().gravity == Gravity.CENTER) {
+            return 0.5f;
+        }
+        return isSnappingToStart(horizontal) ? 0f : 1f;
+    }
+
+    /**
+     * @return true if views are snapped along the horizontal axis
+     */
+    private boolean isSnappingHorizontally(@NonNull RecyclerView.LayoutManager lm) {
+        if (getEngine().keylineFraction != KEYLINE_FRACTION_DISABLE
+                || getEngine().gravity == Gravity.CENTER) {
+            return lm.canScrollHorizontally();
+        }
+        return getEngine().gravity == Gravity.START || getEngine().gravity == Gravity.END;
+    }
+
+    @Nullable
+    RecyclerView getRecyclerView() {
+        return recyclerView;
+    }
+
+    /**
+     * @return the adapter position of the view at the snap keyline plus the fraction of it
+     * that was scrolled past the keyline, or {@link RecyclerView#NO_POSITION}
+     * if there's no view to snap to
+     */
+    float getSnapProgress(@NonNull RecyclerView.LayoutManager lm) {
+        if (!(lm instanceof LinearLayoutManager)) {
+            return RecyclerView.NO_POSITION;
+        }
+        final View snapView = findSnapView(lm, false);
+        if (snapView == null || nextSnapPosition == RecyclerView.NO_POSITION) {
+            return RecyclerView.NO_POSITION;
+        }
+        return getSnapProgress((LinearLayoutManager) lm, snapView, nextSnapPosition);
+    }
+
+    /**
+     * Scrolls the attached RecyclerView to a progress returned by
+     * {@link GravitySnapHelper#getSnapProgress(RecyclerView.LayoutManager)}.
+     * <p>
+     * Close targets are scrolled to in place, without a new layout.
+     * Targets that aren't laid out are jumped to and reached in the next calls.
+     *
+     * @return false if this isn't attached to a RecyclerView with a LinearLayoutManager,
+     * e.g. while its {@link GravitySnapRecyclerView} is detached
+     */
+    boolean scrollToSnapProgress(float progress) {
+        if (recyclerView == null
+                || !(recyclerView.getLayoutManager() instanceof LinearLayoutManager)) {
+            return false;
+        }
+        final RecyclerView.LayoutManager lm = recyclerView.getLayoutManager();
+        final LinearLayoutManager linearLayoutManager = (LinearLayoutManager) lm;
+        final View snapView = findSnapView(lm, false);
+        final int position = nextSnapPosition;
+        if (snapView == null || position == RecyclerView.NO_POSITION
+                || Math.abs(progress - position) >= lm.getChildCount()) {
+            lm.scrollToPosition(Math.round(progress));
+            return true;
+        }
+        final OrientationHelper helper = lm.canScrollHorizontally()
+                ? getHorizontalHelper(lm) : getVerticalHelper(lm);
+        final float current = getSnapProgress(linearLayoutManager, snapView, position);
+        int distance = Math.round((progress - current) * helper.getDecoratedMeasurement(snapView));
+        if (isLayoutReversed(linearLayoutManager)) {
+            distance = -distance;
+        }
+        if (distance == 0) {
+            return true;
+        }
+        if (lm.canScrollHorizontally()) {
+            recyclerView.scrollBy(distance, 0);
+        } else {
+            recyclerView.scrollBy(0, distance);
+        }
+        return true;
+    }
+
+    private float getSnapProgress(@NonNull LinearLayoutManager lm, @NonNull View snapView,
+                                  int position) {
+        final boolean horizontal = lm.canScrollHorizontally();
+        final OrientationHelper helper = horizontal
+                ? getHorizontalHelper(lm) : getVerticalHelper(lm);
+        final int size = helper.getDecoratedMeasurement(snapView);
+        if (size == 0) {
+            return position;
+        }
+        final float snapFraction = getSnapFraction(horizontal);
+        final int anchor = helper.getDecoratedStart(snapView) + (int) (size * snapFraction);
+        final float fraction = (float) (anchor - getSnapKeyline(lm, helper, snapFraction)) / size;
+        return position + (isLayoutReversed(lm) ? fraction : -fraction);
+    }
+
+    private boolean isSnappingToStart(boolean horizontal) {
+        return getEngine().gravity == Gravity.TOP
+                || (horizontal && getEngine().gravity == Gravity.START && !isRtl)
+                || (horizontal && getEngine().gravity == Gravity.END && isRtl);
+    }
+
+    /**
+     * @return true if the scroll will snap to a view, false otherwise
+     */
+    private boolean scrollTo(int position, boolean smooth) {
+        if (recyclerView == null) {
+            return false;
+        }
+        if (getEngine().snapOffsets != null && recyclerView.getLayoutManager() != null) {
+            return scrollToSnapOffset(recyclerView.getLayoutManager(), position, smooth);
+        }
+        if (recyclerView.getLayoutManager() != null) {
+            if (smooth) {
+                RecyclerView.SmoothScroller smoothScroller
+                        = createScroller(recyclerView.getLayoutManager());
+                if (smoothScroller != null) {
+                    if (metricsState != null) {
+                        metricsState.metrics.onTargetPredicted(position);
+                    }
+                    if (scrollStateMachine != null) {
+                        scrollStateMachine.onProgrammaticScroll();
+                    }
+                    smoothScroller.setTargetPosition(position);
+                    recyclerView.getLayoutManager().startSmoothScroll(smoothScroller);
+                    return true;
+                }
+            } else {
+                RecyclerView.ViewHolder viewHolder
+                        = recyclerView.findViewHolderForAdapterPosition(position);
+                if (viewHolder != null) {
+                    int[] distances = calculateDistanceToFinalSnap(recyclerView.getLayoutManager(),
+                            viewHolder.itemView);
+                    recyclerView.scrollBy(distances[0], distances[1]);
+                    captureAnchor(position);
+                    if (resizeState != null) {
+                        trackSnappedSize(resizeState, viewHolder.itemView);
+                    }
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private int getDistanceToStart(View targetView, @NonNull OrientationHelper helper) {
+        int distance;
+        // If we don't care about padding, just snap to the start of the view
+        if (!getEngine().snapToPadding) {
+            int childStart = helper.getDecoratedStart(targetView);
+            if (childStart >= helper.getStartAfterPadding() / 2) {
+                distance = childStart - helper.getStartAfterPadding();
+            } else {
+                distance = childStart;
+            }
+        } else {
+            distance = helper.getDecoratedStart(targetView) - helper.getStartAfterPadding();
+        }
+        return distance;
+    }
+
+    private int getDistanceToEnd(View targetView, @NonNull OrientationHelper helper) {
+        int distance;
+
+        if (!getEngine().snapToPadding) {
+            int childEnd = helper.getDecoratedEnd(targetView);
+            if (childEnd >= helper.getEnd() - (helper.getEnd() - helper.getEndAfterPadding()) / 2) {
+                distance = helper.getDecoratedEnd(targetView) - helper.getEnd();
+            } else {
+                distance = childEnd - helper.getEndAfterPadding();
+            }
+        } else {
+            distance = helper.getDecoratedEnd(targetView) - helper.getEndAfterPadding();
+        }
+
+        return distance;
+    }
+
+    /**
+     * Returns the first view that we should snap to.
      *
      * @param layoutManager the RecyclerView's LayoutManager
      * @param helper        orientation helper to calculate view sizes
-     * @param gravity       gravity to find the closest view
+     * @param horizontal    true if helper measures views along the horizontal axis
      * @return the first view in the LayoutManager to snap to, or null if we shouldn't snap to any
      */
     @Nullable
     private View findView(@NonNull RecyclerView.LayoutManager layoutManager,
                           @NonNull OrientationHelper helper,
-                          int gravity,
+                          boolean horizontal,
                           boolean checkEdgeOfList) {
 
         if (layoutManager.getChildCount() == 0 || !(layoutManager instanceof LinearLayoutManager)) {
@@ -560,62 +1952,383 @@ public class GravitySnapHelper extends LinearSnapHelper {
 
         // If we're at an edge of the list, we shouldn't snap
         // to avoid having the last item not completely visible.
-        if (checkEdgeOfList && (isAtEdgeOfList(lm) && !snapLastItem)) {
+        if (checkEdgeOfList && (isAtEdgeOfList(lm) && !getEngine().snapLastItem)) {
             return null;
         }
 
+        final ImpressionState impressions = beginImpressionSample(lm, helper);
+
         View edgeView = null;
         int distanceToTarget = Integer.MAX_VALUE;
-        final int center;
-        if (layoutManager.getClipToPadding()) {
-            center = helper.getStartAfterPadding() + helper.getTotalSpace() / 2;
-        } else {
-            center = helper.getEnd() / 2;
-        }
-
-        final boolean snapToStart = (gravity == Gravity.START && !isRtl)
-                || (gravity == Gravity.END && isRtl);
-
-        final boolean snapToEnd = (gravity == Gravity.START && isRtl)
-                || (gravity == Gravity.END && !isRtl);
+        int childrenSize = 0;
+        // Gravity, layout direction and padding only change the keyline,
+        // so resolve it once for all children
+        final float fraction = getSnapFraction(horizontal);
+        final int keyline = getSnapKeyline(lm, helper, fraction);
 
         for (int i = 0; i < lm.getChildCount(); i++) {
             View currentView = lm.getChildAt(i);
-            int currentViewDistance;
-            if (snapToStart) {
-                if (!snapToPadding) {
-                    currentViewDistance = Math.abs(helper.getDecoratedStart(currentView));
-                } else {
-                    currentViewDistance = Math.abs(helper.getStartAfterPadding()
-                            - helper.getDecoratedStart(currentView));
-                }
-            } else if (snapToEnd) {
-                if (!snapToPadding) {
-                    currentViewDistance = Math.abs(helper.getDecoratedEnd(currentView)
-                            - helper.getEnd());
-                } else {
-                    currentViewDistance = Math.abs(helper.getEndAfterPadding()
-                            - helper.getDecoratedEnd(currentView));
-                }
-            } else {
-                currentViewDistance = Math.abs(helper.getDecoratedStart(currentView)
-                        + (helper.getDecoratedMeasurement(currentView) / 2) - center);
+            if (impressions != null) {
+                recordImpression(impressions, helper, currentView);
             }
+            final int currentViewSize = helper.getDecoratedMeasurement(currentView);
+            final int currentViewDistance = Math.abs(helper.getDecoratedStart(currentView)
+                    + (int) (currentViewSize * fraction) - keyline);
+            childrenSize += currentViewSize;
             if (currentViewDistance < distanceToTarget) {
                 distanceToTarget = currentViewDistance;
                 edgeView = currentView;
             }
         }
+        averageChildSize = (float) childrenSize / lm.getChildCount();
+        if (metricsState != null) {
+            metricsState.metrics.onChildrenVisited(lm.getChildCount());
+        }
+        if (impressions != null) {
+            endImpressionSample(impressions, false);
+        }
         return edgeView;
     }
 
+    /**
+     * Stores the adapter position, stable id and snapped offset of the item
+     * that should be kept in place by the next adapter update.
+     *
+     * @param position adapter position of the snapped item
+     */
+    private void captureAnchor(int position) {
+        final AnchorState anchor = anchorState;
+        if (anchor == null || recyclerView == null || getEngine().snapOffsets != null
+                || position == RecyclerView.NO_POSITION
+                || !(recyclerView.getLayoutManager() instanceof LinearLayoutManager)) {
+            clearAnchor();
+            return;
+        }
+        LinearLayoutManager lm = (LinearLayoutManager) recyclerView.getLayoutManager();
+        View anchorView = lm.findViewByPosition(position);
+        RecyclerView.Adapter<?> adapter = recyclerView.getAdapter();
+        if (anchorView == null || adapter == null || position >= adapter.getItemCount()) {
+            clearAnchor();
+            return;
+        }
+        OrientationHelper helper = lm.canScrollHorizontally()
+                ? getHorizontalHelper(lm) : getVerticalHelper(lm);
+        int[] distances = calculateDistanceToFinalSnap(lm, anchorView);
+        int distance = lm.canScrollHorizontally() ? distances[0] : distances[1];
+        // LinearLayoutManager measures the pending offset from the end of the layout
+        // when it's laid out in reverse, so the snap distance needs to be applied
+        // in the opposite direction
+        if (isLayoutReversed(lm)) {
+            anchor.offset = helper.getEndAfterPadding() - helper.getDecoratedEnd(anchorView)
+                    + distance;
+        } else {
+            anchor.offset = helper.getDecoratedStart(anchorView) - helper.getStartAfterPadding()
+                    - distance;
+        }
+        anchor.position = position;
+        anchor.id = adapter.hasStableIds() ? adapter.getItemId(position) : RecyclerView.NO_ID;
+    }
+
+    private void registerResizeListener(@NonNull RecyclerView recyclerView,
+                                        @NonNull ResizeState resize) {
+        // Registered on the RecyclerView instead of its window, so that only its own layouts
+        // look for the snapped view. Adding the same listener twice has no effect
+        recyclerView.addOnLayoutChangeListener(resize);
+    }
+
+    /**
+     * Checks the snapped view once the update of the changed item is laid out.
+     * <p>
+     * With {@link RecyclerView#setHasFixedSize(boolean)}, item changes are laid out
+     * by the RecyclerView in an animation callback, without a layout of the RecyclerView itself,
+     * so the layout listener isn't called for them. The pre draw listener runs after that
+     * layout in the same frame.
+     */
+    private void scheduleResizeCheck(@NonNull ResizeState resize) {
+        if (recyclerView == null || resize.checkObserver != null) {
+            return;
+        }
+        resize.checkObserver = recyclerView.getViewTreeObserver();
+        resize.checkObserver.addOnPreDrawListener(resize);
+    }
+
+    private void cancelResizeCheck(@NonNull ResizeState resize) {
+        ViewTreeObserver observer = resize.checkObserver;
+        if (observer == null) {
+            return;
+        }
+        if (!observer.isAlive() && recyclerView != null) {
+            // Merged into the observer of the window since it was registered
+            observer = recyclerView.getViewTreeObserver();
+        }
+        if (observer.isAlive()) {
+            observer.removeOnPreDrawListener(resize);
+        }
+        resize.checkObserver = null;
+    }
+
+    /**
+     * Called after every layout of the attached RecyclerView and before it's drawn,
+     * so scrolling here moves the children in the same frame as the resize.
+     */
+    private void keepSnapAfterResize(@NonNull ResizeState resize) {
+        if (recyclerView == null || getEngine().snapOffsets != null || isSnapDeferred()
+                || getScrollState() != RecyclerView.SCROLL_STATE_IDLE
+                || !(recyclerView.getLayoutManager() instanceof LinearLayoutManager)) {
+            return;
+        }
+        final LinearLayoutManager lm = (LinearLayoutManager) recyclerView.getLayoutManager();
+        final View view = resize.trackedView;
+        if (view == null || view.getParent() != recyclerView
+                || recyclerView.getChildAdapterPosition(view) != resize.trackedPosition) {
+            // Nothing snapped since the last scroll, or the snapped item moved in the adapter
+            trackSnappedSize(resize, findSnapView(lm, true));
+            return;
+        }
+        final OrientationHelper helper = lm.canScrollHorizontally()
+                ? getHorizontalHelper(lm) : getVerticalHelper(lm);
+        final int size = helper.getDecoratedMeasurement(view);
+        if (size == resize.trackedSize) {
+            return;
+        }
+        final int[] out = calculateDistanceToSnap(lm, view, getEngine().scratchDistance);
+        if (out[0] != 0 || out[1] != 0) {
+            recyclerView.scrollBy(out[0], out[1]);
+        }
+        // Keep tracking the view even if scrollBy stopped at an edge of the list
+        resize.track(view, recyclerView.getChildAdapterPosition(view), size);
+    }
+
+    /**
+     * Stores the size of the snapped view, so that it's aligned again when that size changes.
+     * Views that aren't exactly at the snap position aren't tracked.
+     *
+     * @param resize the state of {@link GravitySnapHelper#setKeepSnapOnResize(boolean)}
+     * @param view   the snapped view
+     */
+    private void trackSnappedSize(@NonNull ResizeState resize, @Nullable View view) {
+        resize.clearTracking();
+        if (view == null || recyclerView == null || getEngine().snapOffsets != null
+                || view.getParent() != recyclerView
+                || !(recyclerView.getLayoutManager() instanceof LinearLayoutManager)) {
+            return;
+        }
+        final LinearLayoutManager lm = (LinearLayoutManager) recyclerView.getLayoutManager();
+        final int[] out = calculateDistanceToSnap(lm, view, getEngine().scratchDistance);
+        if (out[0] != 0 || out[1] != 0) {
+            return;
+        }
+        final OrientationHelper helper = lm.canScrollHorizontally()
+                ? getHorizontalHelper(lm) : getVerticalHelper(lm);
+        resize.track(view, recyclerView.getChildAdapterPosition(view),
+                helper.getDecoratedMeasurement(view));
+    }
+
+    private void clearAnchor() {
+        if (anchorState != null) {
+            anchorState.clear();
+        }
+    }
+
+    private void onAnchorDataSetChanged(@NonNull AnchorState anchor) {
+        RecyclerView.Adapter<?> adapter = observedAdapter;
+        if (anchor.position == RecyclerView.NO_POSITION || anchor.id == RecyclerView.NO_ID
+                || adapter == null || !adapter.hasStableIds()) {
+            // Without stable ids there's no way of knowing where the snapped item went
+            nextSnapPosition = RecyclerView.NO_POSITION;
+            clearAnchor();
+            return;
+        }
+        int newPosition = RecyclerView.NO_POSITION;
+        final int itemCount = adapter.getItemCount();
+        // Most updates keep the item close to its previous position,
+        // so start looking from there
+        if (anchor.position < itemCount && adapter.getItemId(anchor.position) == anchor.id) {
+            newPosition = anchor.position;
+        } else {
+            for (int i = 0; i < itemCount; i++) {
+                if (adapter.getItemId(i) == anchor.id) {
+                    newPosition = i;
+                    break;
+                }
+            }
+        }
+        onAnchorMoved(anchor, newPosition, newPosition);
+    }
+
+    /**
+     * Updates the cached snap positions after an adapter update
+     * and pins the snapped item to its snapped offset in the next layout pass.
+     *
+     * @param anchor              the anchor of the snapped item
+     * @param newAnchorPosition   new adapter position of the snapped item
+     * @param newNextSnapPosition new value for {@link GravitySnapHelper#nextSnapPosition}
+     */
+    private void onAnchorMoved(@NonNull AnchorState anchor, int newAnchorPosition,
+                               int newNextSnapPosition) {
+        nextSnapPosition = newNextSnapPosition;
+        if (anchor.position == RecyclerView.NO_POSITION) {
+            return;
+        }
+        if (newAnchorPosition == RecyclerView.NO_POSITION) {
+            // The snapped item was removed, so there's nothing to keep in place
+            clearAnchor();
+            return;
+        }
+        anchor.position = newAnchorPosition;
+        if (recyclerView == null
+                || recyclerView.getScrollState() != RecyclerView.SCROLL_STATE_IDLE
+                || !(recyclerView.getLayoutManager() instanceof LinearLayoutManager)) {
+            return;
+        }
+        LinearLayoutManager lm = (LinearLayoutManager) recyclerView.getLayoutManager();
+        lm.scrollToPositionWithOffset(anchor.position, anchor.offset);
+    }
+
+    static int getPositionAfterInsert(int position, int positionStart, int itemCount) {
+        if (position == RecyclerView.NO_POSITION || position < positionStart) {
+            return position;
+        }
+        return position + itemCount;
+    }
+
+    static int getPositionAfterRemove(int position, int positionStart, int itemCount) {
+        if (position == RecyclerView.NO_POSITION || position < positionStart) {
+            return position;
+        }
+        if (position < positionStart + itemCount) {
+            return RecyclerView.NO_POSITION;
+        }
+        return position - itemCount;
+    }
+
+    static int getPositionAfterMove(int position, int fromPosition, int toPosition) {
+        if (position == RecyclerView.NO_POSITION) {
+            return position;
+        }
+        if (position == fromPosition) {
+            return toPosition;
+        }
+        if (fromPosition < position && toPosition >= position) {
+            return position - 1;
+        }
+        if (fromPosition > position && toPosition <= position) {
+            return position + 1;
+        }
+        return position;
+    }
+
+    static boolean isLayoutReversed(LinearLayoutManager lm) {
+        if (lm.canScrollHorizontally()
+                && lm.getLayoutDirection() == ViewCompat.LAYOUT_DIRECTION_RTL) {
+            return !lm.getReverseLayout();
+        }
+        return lm.getReverseLayout();
+    }
+
+    /**
+     * Records the visible fraction of every child in a new impression sample.
+     * <p>
+     * This is only needed when the children weren't visited recently
+     * by {@link GravitySnapHelper#findView(RecyclerView.LayoutManager, OrientationHelper,
+     * boolean, boolean)}, which records them as well.
+     *
+     * @param forceDelivery true if the impressions should be delivered even if
+     *                      they were delivered recently
+     */
+    private void sampleImpressions(boolean forceDelivery) {
+        if (recyclerView == null || recyclerView.getLayoutManager() == null) {
+            return;
+        }
+        final RecyclerView.LayoutManager lm = recyclerView.getLayoutManager();
+        final OrientationHelper helper = lm.canScrollHorizontally()
+                ? getHorizontalHelper(lm) : getVerticalHelper(lm);
+        final ImpressionState impressions = beginImpressionSample(lm, helper);
+        if (impressions == null) {
+            return;
+        }
+        for (int i = 0; i < lm.getChildCount(); i++) {
+            recordImpression(impressions, helper, lm.getChildAt(i));
+        }
+        endImpressionSample(impressions, forceDelivery);
+    }
+
+    /**
+     * @return the impressions to record through {@link GravitySnapHelper#recordImpression(
+     *ImpressionState, OrientationHelper, View)} or null if they aren't tracked
+     */
+    @Nullable
+    private ImpressionState beginImpressionSample(@NonNull RecyclerView.LayoutManager lm,
+                                                  @NonNull OrientationHelper helper) {
+        final ImpressionState impressions = impressionState;
+        if (impressions == null || recyclerView == null) {
+            return null;
+        }
+        impressions.tracker.beginSample();
+        impressions.sampleTime = SystemClock.uptimeMillis();
+        // Rows outside of the screen don't record anything,
+        // so their items stop being visible when the sample ends
+        impressions.isRecording = recyclerView.getWindowVisibility() == View.VISIBLE
+                && recyclerView.isShown()
+                && recyclerView.getLocalVisibleRect(getEngine().scratchRect);
+        if (lm.getClipToPadding()) {
+            impressions.start = helper.getStartAfterPadding();
+            impressions.end = helper.getEndAfterPadding();
+        } else {
+            impressions.start = 0;
+            impressions.end = helper.getEnd();
+        }
+        return impressions;
+    }
+
+    private void recordImpression(@NonNull ImpressionState impressions,
+                                  @NonNull OrientationHelper helper, @NonNull View view) {
+        if (!impressions.isRecording) {
+            return;
+        }
+        final int start = helper.getDecoratedStart(view);
+        final int end = helper.getDecoratedEnd(view);
+        if (end <= start) {
+            return;
+        }
+        final int visibleSize = Math.min(end, impressions.end)
+                - Math.max(start, impressions.start);
+        if (visibleSize > 0) {
+            impressions.tracker.record(recyclerView.getChildAdapterPosition(view),
+                    recyclerView.getChildItemId(view), visibleSize / (float) (end - start),
+                    impressions.sampleTime);
+        }
+    }
+
+    private void endImpressionSample(@NonNull ImpressionState impressions,
+                                     boolean forceDelivery) {
+        final ImpressionTracker tracker = impressions.tracker;
+        tracker.endSample(impressions.sampleTime);
+        if (forceDelivery || tracker.shouldDeliver(impressions.sampleTime)) {
+            tracker.deliver(impressions.listener, impressions.sampleTime);
+        }
+    }
+
+    /**
+     * Delivers the items that are still visible as no longer visible
+     */
+    private void flushImpressions() {
+        if (impressionState != null) {
+            impressionState.tracker.flush(impressionState.listener, SystemClock.uptimeMillis());
+        }
+    }
+
     private boolean isAtEdgeOfList(LinearLayoutManager lm) {
-        if ((!lm.getReverseLayout() && gravity == Gravity.START)
-                || (lm.getReverseLayout() && gravity == Gravity.END)
-                || (!lm.getReverseLayout() && gravity == Gravity.TOP)
-                || (lm.getReverseLayout() && gravity == Gravity.BOTTOM)) {
+        if (getEngine().keylineFraction != KEYLINE_FRACTION_DISABLE) {
+            return lm.findFirstCompletelyVisibleItemPosition() == 0
+                    || lm.findLastCompletelyVisibleItemPosition() == lm.getItemCount() - 1;
+        }
+        if ((!lm.getReverseLayout() && getEngine().gravity == Gravity.START)
+                || (lm.getReverseLayout() && getEngine().gravity == Gravity.END)
+                || (!lm.getReverseLayout() && getEngine().gravity == Gravity.TOP)
+                || (lm.getReverseLayout() && getEngine().gravity == Gravity.BOTTOM)) {
             return lm.findLastCompletelyVisibleItemPosition() == lm.getItemCount() - 1;
-        } else if (gravity == Gravity.CENTER) {
+        } else if (getEngine().gravity == Gravity.CENTER) {
             return lm.findFirstCompletelyVisibleItemPosition() == 0
                     || lm.findLastCompletelyVisibleItemPosition() == lm.getItemCount() - 1;
         } else {
@@ -628,21 +2341,187 @@ public class GravitySnapHelper extends LinearSnapHelper {
      * is different than {@link RecyclerView#NO_POSITION}.
      * <p>
      * When {@link GravitySnapHelper#findSnapView(RecyclerView.LayoutManager)} returns null,
-     * {@link GravitySnapHelper#dispatchSnapChangeWhenPositionIsUnknown()} is called
+     * {@link GravitySnapHelper#dispatchSnapChangeWhenPositionIsUnknown(SnapDispatcher)} is called
      *
-     * @param newState the new RecyclerView scroll state
+     * @param oldState the previous {@link ScrollStateMachine} state
+     * @param newState the new {@link ScrollStateMachine} state
      */
-    private void onScrollStateChanged(int newState) {
-        if (newState == RecyclerView.SCROLL_STATE_IDLE && listener != null) {
-            if (isScrolling) {
-                if (nextSnapPosition != RecyclerView.NO_POSITION) {
-                    listener.onSnap(nextSnapPosition);
-                } else {
-                    dispatchSnapChangeWhenPositionIsUnknown();
-                }
+    private void onScrollStateChanged(int oldState, int newState) {
+        final boolean isIdle = newState == ScrollStateMachine.SNAPPED;
+        final boolean isScrolling = oldState != ScrollStateMachine.SNAPPED;
+        idleSnapState = ScrollStateMachine.SNAPPED;
+        if (resizeState != null) {
+            if (isIdle && recyclerView != null
+                    && recyclerView.getLayoutManager() != null
+                    && nextSnapPosition != RecyclerView.NO_POSITION) {
+                // Only tracked if the scroll ended at the snap position.
+                // Otherwise, the next snap ends in another idle state
+                trackSnappedSize(resizeState, recyclerView.getLayoutManager()
+                        .findViewByPosition(nextSnapPosition));
+            } else {
+                resizeState.clearTracking();
+            }
+        }
+        if (metricsState != null) {
+            recordScrollState(metricsState, oldState, newState);
+        }
+        if (!isIdle) {
+            // A new scroll takes care of snapping, so there's no need to wait for the animations
+            if (deferralState != null) {
+                deferralState.isSnapDeferred = false;
+            }
+        } else if (isSnapDeferred()) {
+            // The snap and its event wait for the ItemAnimator, see onItemAnimationsFinished
+            return;
+        }
+        if (isIdle && anchorState != null) {
+            captureAnchor(nextSnapPosition);
+        }
+        if (isIdle && isScrolling) {
+            dispatchSnap();
+            if (impressionState != null) {
+                sampleImpressions(true);
             }
         }
-        isScrolling = newState != RecyclerView.SCROLL_STATE_IDLE;
+    }
+
+    /**
+     * @return true if SnapHelper is looking for the view to snap to because the RecyclerView
+     * just stopped scrolling. At that point, the RecyclerView is already idle
+     * but the {@link ScrollStateMachine} wasn't notified yet,
+     * since SnapHelper's OnScrollListener is registered after it and called before it
+     */
+    private boolean isIdleSnapPass() {
+        return recyclerView != null && scrollStateMachine != null
+                && scrollStateMachine.isScrolling()
+                && recyclerView.getScrollState() == RecyclerView.SCROLL_STATE_IDLE;
+    }
+
+    private int getScrollState() {
+        return scrollStateMachine != null
+                ? scrollStateMachine.getScrollState() : RecyclerView.SCROLL_STATE_IDLE;
+    }
+
+    private void recordScrollState(@NonNull MetricsState state, int oldState, int newState) {
+        final SnapMetrics metrics = state.metrics;
+        if (metrics.onStateChanged(oldState, newState, SystemClock.uptimeMillis())) {
+            // The idle snap pass just looked for the snap view where the RecyclerView stopped,
+            // so this is where it landed, not where the scroller was aimed at
+            metrics.onGestureFinished(newState == ScrollStateMachine.SNAPPED
+                    ? nextSnapPosition : RecyclerView.NO_POSITION);
+            if (state.sink != null) {
+                state.sink.onGestureMetrics(metrics);
+            }
+            metrics.resetGesture();
+        }
+    }
+
+    /**
+     * Called with the distance of the snap SnapHelper starts once the RecyclerView stops.
+     * If the settle that just ended didn't land on the snap position, this counts as a re-snap.
+     * <p>
+     * Settles can end 1 or 2px away from the snap position due to rounding,
+     * e.g. when the target is found mid-layout on fractional densities.
+     * Instead of starting another settle for those px, the RecyclerView is moved
+     * in this same frame, so that onSnap is dispatched only once.
+     * <p>
+     * With {@link GravitySnapHelper#SETTLE_MODE_SPRING}, the spring settle is started here,
+     * so that SnapHelper never starts its own. The snap is dispatched once the spring ends.
+     *
+     * @param distances  the distance to the snap position
+     * @param endedState the {@link ScrollStateMachine} state that just ended
+     * @return true if the snap was already started
+     */
+    private boolean startIdleSnap(int[] distances, int endedState) {
+        if (distances[0] == 0 && distances[1] == 0) {
+            return false;
+        }
+        final boolean followsSettle = ScrollStateMachine.isSettling(endedState);
+        if (followsSettle && Math.abs(distances[0]) <= MAX_SETTLE_RESIDUAL
+                && Math.abs(distances[1]) <= MAX_SETTLE_RESIDUAL) {
+            recyclerView.scrollBy(distances[0], distances[1]);
+            if (metricsState != null) {
+                metricsState.metrics.onResidualCorrected();
+            }
+            return true;
+        }
+        if (metricsState != null) {
+            metricsState.metrics.onSnapDistance(
+                    Math.max(Math.abs(distances[0]), Math.abs(distances[1])));
+            if (followsSettle) {
+                metricsState.metrics.onResnap();
+            }
+        }
+        if (getEngine().settleMode != SETTLE_MODE_SPRING) {
+            return false;
+        }
+        final SpringInterpolator interpolator = getSpringInterpolator();
+        final int time = interpolator.start(distances[0] != 0 ? distances[0] : distances[1],
+                getScrollVelocity());
+        recyclerView.smoothScrollBy(distances[0], distances[1], interpolator, time);
+        return true;
+    }
+
+    private void dispatchSnap() {
+        final SnapDispatcher dispatcher = snapDispatcher;
+        if (dispatcher == null || !dispatcher.hasListeners()) {
+            return;
+        }
+        final boolean traced = SnapTrace.beginSection(SnapTrace.DISPATCH_SNAP, getEngine().gravity,
+                recyclerView != null ? recyclerView.getChildCount() : 0);
+        try {
+            if (nextSnapPosition != RecyclerView.NO_POSITION) {
+                dispatcher.dispatch(nextSnapPosition);
+            } else {
+                dispatchSnapChangeWhenPositionIsUnknown(dispatcher);
+            }
+        } finally {
+            SnapTrace.endSection(traced);
+        }
+    }
+
+    private boolean isSnapDeferred() {
+        return deferralState != null && deferralState.isSnapDeferred;
+    }
+
+    /**
+     * @return true if the ItemAnimator is running.
+     * In that case, {@link GravitySnapHelper#onItemAnimationsFinished(DeferralState)}
+     * will be called once all animations end
+     */
+    private boolean isItemAnimatorRunning(@NonNull DeferralState deferral) {
+        RecyclerView.ItemAnimator itemAnimator = recyclerView.getItemAnimator();
+        return itemAnimator != null && itemAnimator.isRunning(deferral);
+    }
+
+    /**
+     * Runs the snap that was skipped while the ItemAnimator was running.
+     * <p>
+     * If the snap view is already in place, the snap event is dispatched immediately.
+     * Otherwise, it'll be dispatched when the settle ends.
+     */
+    private void onItemAnimationsFinished(@NonNull DeferralState deferral) {
+        if (!deferral.isSnapDeferred || deferral != deferralState) {
+            return;
+        }
+        deferral.isSnapDeferred = false;
+        if (recyclerView == null || recyclerView.getLayoutManager() == null
+                || recyclerView.getScrollState() != RecyclerView.SCROLL_STATE_IDLE) {
+            return;
+        }
+        RecyclerView.LayoutManager lm = recyclerView.getLayoutManager();
+        View snapView = findSnapView(lm);
+        if (snapView != null) {
+            int[] out = calculateDistanceToFinalSnap(lm, snapView);
+            if (out[0] != 0 || out[1] != 0) {
+                recyclerView.smoothScrollBy(out[0], out[1]);
+                return;
+            }
+        }
+        if (anchorState != null) {
+            captureAnchor(nextSnapPosition);
+        }
+        dispatchSnap();
     }
 
     /**
@@ -651,7 +2530,7 @@ public class GravitySnapHelper extends LinearSnapHelper {
      * <p>
      * This makes sure that a position is reported in {@link SnapListener#onSnap(int)}
      */
-    private void dispatchSnapChangeWhenPositionIsUnknown() {
+    private void dispatchSnapChangeWhenPositionIsUnknown(@NonNull SnapDispatcher dispatcher) {
         RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
         if (layoutManager == null) {
             return;
@@ -662,7 +2541,7 @@ public class GravitySnapHelper extends LinearSnapHelper {
         }
         int snapPosition = recyclerView.getChildAdapterPosition(snapView);
         if (snapPosition != RecyclerView.NO_POSITION) {
-            listener.onSnap(snapPosition);
+            dispatcher.dispatch(snapPosition);
         }
     }
 
@@ -684,6 +2563,9 @@ public class GravitySnapHelper extends LinearSnapHelper {
      * A listener that's called when the {@link RecyclerView} used by {@link GravitySnapHelper}
      * changes its scroll state to {@link RecyclerView#SCROLL_STATE_IDLE}
      * and there's a valid snap position.
+     * <p>
+     * It's called on the main thread, unless an executor was set through
+     * {@link GravitySnapHelper#setSnapListenerExecutor(Executor)}.
      */
     public interface SnapListener {
         /**
@@ -692,4 +2574,177 @@ public class GravitySnapHelper extends LinearSnapHelper {
         void onSnap(int position);
     }
 
+    /**
+     * State of {@link GravitySnapHelper#setAnchorSnappedItem(boolean)}:
+     * the adapter position, stable id and snapped offset of the item kept in place
+     */
+    private static final class AnchorState {
+
+        int position = RecyclerView.NO_POSITION;
+        long id = RecyclerView.NO_ID;
+        int offset = 0;
+
+        void clear() {
+            position = RecyclerView.NO_POSITION;
+            id = RecyclerView.NO_ID;
+            offset = 0;
+        }
+    }
+
+    /**
+     * State of {@link GravitySnapHelper#setKeepSnapOnResize(boolean)}:
+     * the snapped view and its size when it was last aligned.
+     * <p>
+     * Checks that view after layouts of the attached RecyclerView
+     * and before the frame of an adapter update of that item is drawn,
+     * see {@link GravitySnapHelper#scheduleResizeCheck(ResizeState)}.
+     */
+    private final class ResizeState implements View.OnLayoutChangeListener,
+            ViewTreeObserver.OnPreDrawListener {
+
+        @Nullable
+        View trackedView;
+        int trackedPosition = RecyclerView.NO_POSITION;
+        int trackedSize = 0;
+        // Observer of the pending check after an adapter update
+        @Nullable
+        ViewTreeObserver checkObserver;
+
+        void track(@NonNull View view, int position, int size) {
+            trackedView = view;
+            trackedPosition = position;
+            trackedSize = size;
+        }
+
+        void clearTracking() {
+            trackedView = null;
+            trackedPosition = RecyclerView.NO_POSITION;
+            trackedSize = 0;
+        }
+
+        @Override
+        public void onLayoutChange(View view, int left, int top, int right, int bottom,
+                                   int oldLeft, int oldTop, int oldRight, int oldBottom) {
+            // Called only when the attached RecyclerView itself is laid out
+            keepSnapAfterResize(this);
+        }
+
+        @Override
+        public boolean onPreDraw() {
+            cancelResizeCheck(this);
+            keepSnapAfterResize(this);
+            return true;
+        }
+    }
+
+    /**
+     * State of {@link GravitySnapHelper#setDeferSnapDuringItemAnimations(boolean)}
+     */
+    private final class DeferralState
+            implements RecyclerView.ItemAnimator.ItemAnimatorFinishedListener {
+
+        boolean isSnapDeferred = false;
+
+        @Override
+        public void onAnimationsFinished() {
+            onItemAnimationsFinished(this);
+        }
+    }
+
+    /**
+     * State of {@link GravitySnapHelper#SETTLE_MODE_SPRING}:
+     * the spring and the scroll velocity it starts with
+     */
+    private static final class SpringState {
+
+        final SpringInterpolator interpolator = new SpringInterpolator();
+        float scrollVelocity = 0f;
+        long lastScrolledTime = 0L;
+    }
+
+    /**
+     * State of {@link GravitySnapHelper#setMetricsSink(SnapMetrics.Sink)}
+     * and {@link GravitySnapHelper#setMetricsEnabled(boolean)}
+     */
+    private static final class MetricsState {
+
+        final SnapMetrics metrics = new SnapMetrics();
+        @Nullable
+        SnapMetrics.Sink sink;
+        boolean enabled;
+    }
+
+    /**
+     * State of {@link GravitySnapHelper#setImpressionListener(SnapImpressions.Listener)}.
+     * <p>
+     * Samples impressions when anything in the window scrolls, e.g. a parent list
+     * that moves the attached RecyclerView off the screen,
+     * and flushes them when the RecyclerView is detached from the window.
+     */
+    private final class ImpressionState implements View.OnAttachStateChangeListener,
+            ViewTreeObserver.OnScrollChangedListener {
+
+        final ImpressionTracker tracker = new ImpressionTracker();
+        @NonNull
+        SnapImpressions.Listener listener;
+        // Bounds and time of the current sample, see beginImpressionSample
+        boolean isRecording = false;
+        long sampleTime;
+        int start;
+        int end;
+        // Also tells if this listener is registered, so it's never added twice
+        @Nullable
+        private ViewTreeObserver observer;
+
+        ImpressionState(@NonNull SnapImpressions.Listener listener) {
+            this.listener = listener;
+        }
+
+        void register(@NonNull RecyclerView recyclerView) {
+            recyclerView.addOnAttachStateChangeListener(this);
+            if (recyclerView.isAttachedToWindow()) {
+                addTo(recyclerView);
+            }
+        }
+
+        void unregister(@NonNull RecyclerView recyclerView) {
+            recyclerView.removeOnAttachStateChangeListener(this);
+            remove();
+        }
+
+        @Override
+        public void onViewAttachedToWindow(View view) {
+            addTo(view);
+        }
+
+        @Override
+        public void onViewDetachedFromWindow(View view) {
+            remove();
+            flushImpressions();
+        }
+
+        @Override
+        public void onScrollChanged() {
+            if (tracker.shouldSample(SystemClock.uptimeMillis())) {
+                sampleImpressions(false);
+            }
+        }
+
+        private void addTo(@NonNull View view) {
+            if (observer == null) {
+                observer = view.getViewTreeObserver();
+                observer.addOnScrollChangedListener(this);
+            }
+        }
+
+        private void remove() {
+            if (observer != null) {
+                if (observer.isAlive()) {
+                    observer.removeOnScrollChangedListener(this);
+                }
+                observer = null;
+            }
+        }
+    }
+
 }
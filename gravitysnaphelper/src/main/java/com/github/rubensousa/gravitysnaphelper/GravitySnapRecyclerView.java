@@ -18,12 +18,20 @@ package com.github.rubensousa.gravitysnaphelper;
 
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.os.Parcel;
+import android.os.Parcelable;
 import android.util.AttributeSet;
+import android.view.Choreographer;
 import android.view.Gravity;
+import android.view.InputDevice;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
 import android.view.View;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.customview.view.AbsSavedState;
+import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 /**
@@ -31,10 +39,55 @@ import androidx.recyclerview.widget.RecyclerView;
  */
 public class GravitySnapRecyclerView extends OrientationAwareRecyclerView {
 
+    public static final long AUTO_ADVANCE_DISABLE = 0L;
+    public static final long WHEEL_SNAP_DISABLE = 0L;
+    public static final int WHEEL_SNAP_STEP_PAGE = 0;
+
     @NonNull
     final private GravitySnapHelper snapHelper;
 
     private boolean isSnappingEnabled = false;
+    private long autoAdvanceIntervalMs = AUTO_ADVANCE_DISABLE;
+    private boolean isAutoAdvanceScheduled = false;
+    @Nullable
+    private AdapterDataObserver autoAdvanceObserver;
+    @Nullable
+    private Adapter<?> autoAdvanceAdapter;
+    private boolean isTouched = false;
+    private boolean snapOnFocus = false;
+    private boolean isSnappingToFocus = false;
+    private boolean isKeyRepeatThrottled = false;
+    private int snapTargetPosition = RecyclerView.NO_POSITION;
+    private int pendingFocusPosition = RecyclerView.NO_POSITION;
+    private int pendingSnapPosition = RecyclerView.NO_POSITION;
+    private long pendingSnapItemId = RecyclerView.NO_ID;
+    private boolean isPendingSnapScrolled = false;
+    private long wheelSnapWindowMs = 100L;
+    private int wheelSnapStep = 1;
+    private float wheelDelta = 0f;
+    private boolean isWheelSnapPending = false;
+    private final Runnable wheelSnapRunnable = new Runnable() {
+        @Override
+        public void run() {
+            isWheelSnapPending = false;
+            snapWheel();
+        }
+    };
+    private final Choreographer.FrameCallback keyRepeatCallback
+            = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            isKeyRepeatThrottled = false;
+        }
+    };
+    private final Choreographer.FrameCallback autoAdvanceCallback
+            = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            isAutoAdvanceScheduled = false;
+            autoAdvance();
+        }
+    };
 
     public GravitySnapRecyclerView(@NonNull Context context) {
         this(context, null);
@@ -51,46 +104,317 @@ public class GravitySnapRecyclerView extends OrientationAwareRecyclerView {
                 R.styleable.GravitySnapRecyclerView, defStyleAttr, 0);
         int snapGravity = typedArray.getInt(
                 R.styleable.GravitySnapRecyclerView_snapGravity, 0);
+        boolean snapLastItem = typedArray.getBoolean(
+                R.styleable.GravitySnapRecyclerView_snapLastItem, false);
         switch (snapGravity) {
             case 0:
-                snapHelper = new GravitySnapHelper(Gravity.START);
+                snapHelper = new GravitySnapHelper(Gravity.START, snapLastItem);
                 break;
             case 1:
-                snapHelper = new GravitySnapHelper(Gravity.TOP);
+                snapHelper = new GravitySnapHelper(Gravity.TOP, snapLastItem);
                 break;
             case 2:
-                snapHelper = new GravitySnapHelper(Gravity.END);
+                snapHelper = new GravitySnapHelper(Gravity.END, snapLastItem);
                 break;
             case 3:
-                snapHelper = new GravitySnapHelper(Gravity.BOTTOM);
+                snapHelper = new GravitySnapHelper(Gravity.BOTTOM, snapLastItem);
                 break;
             case 4:
-                snapHelper = new GravitySnapHelper(Gravity.CENTER);
+                snapHelper = new GravitySnapHelper(Gravity.CENTER, snapLastItem);
                 break;
             default:
                 throw new IllegalArgumentException("Invalid gravity value. Use START " +
                         "| END | BOTTOM | TOP | CENTER constants");
         }
 
-        snapHelper.setSnapToPadding(typedArray.getBoolean(
-                R.styleable.GravitySnapRecyclerView_snapToPadding, false));
+        // The engine attributes are set only if present,
+        // so the default engine isn't created before setSnapEngine replaces it
+        if (typedArray.hasValue(R.styleable.GravitySnapRecyclerView_snapToPadding)) {
+            snapHelper.setSnapToPadding(typedArray.getBoolean(
+                    R.styleable.GravitySnapRecyclerView_snapToPadding, false));
+        }
 
-        snapHelper.setSnapLastItem(typedArray.getBoolean(
-                R.styleable.GravitySnapRecyclerView_snapLastItem, false));
+        if (typedArray.hasValue(R.styleable.GravitySnapRecyclerView_snapMaxFlingSizeFraction)) {
+            snapHelper.setMaxFlingSizeFraction(typedArray.getFloat(
+                    R.styleable.GravitySnapRecyclerView_snapMaxFlingSizeFraction,
+                    GravitySnapHelper.FLING_SIZE_FRACTION_DISABLE));
+        }
 
-        snapHelper.setMaxFlingSizeFraction(typedArray.getFloat(
-                R.styleable.GravitySnapRecyclerView_snapMaxFlingSizeFraction,
-                GravitySnapHelper.FLING_SIZE_FRACTION_DISABLE));
+        // Set only if present, since it replaces the max fling size fraction
+        if (typedArray.hasValue(R.styleable.GravitySnapRecyclerView_snapMaxFlingItems)) {
+            snapHelper.setMaxFlingItems(typedArray.getInt(
+                    R.styleable.GravitySnapRecyclerView_snapMaxFlingItems,
+                    GravitySnapHelper.FLING_ITEMS_DISABLE));
+        }
 
-        snapHelper.setScrollMsPerInch(typedArray.getFloat(
-                R.styleable.GravitySnapRecyclerView_snapScrollMsPerInch, 100f));
+        if (typedArray.hasValue(R.styleable.GravitySnapRecyclerView_snapScrollMsPerInch)) {
+            snapHelper.setScrollMsPerInch(typedArray.getFloat(
+                    R.styleable.GravitySnapRecyclerView_snapScrollMsPerInch, 100f));
+        }
+
+        if (typedArray.hasValue(R.styleable.GravitySnapRecyclerView_snapKeylineFraction)) {
+            snapHelper.setKeylineFraction(typedArray.getFloat(
+                    R.styleable.GravitySnapRecyclerView_snapKeylineFraction,
+                    GravitySnapHelper.KEYLINE_FRACTION_DISABLE));
+        }
 
         enableSnapping(typedArray.getBoolean(
                 R.styleable.GravitySnapRecyclerView_snapEnabled, true));
 
+        setSnapOnFocus(typedArray.getBoolean(
+                R.styleable.GravitySnapRecyclerView_snapOnFocus, false));
+
+        setWheelSnapWindow(typedArray.getInt(
+                R.styleable.GravitySnapRecyclerView_snapWheelWindow, (int) wheelSnapWindowMs));
+
+        setWheelSnapStep(typedArray.getInt(
+                R.styleable.GravitySnapRecyclerView_snapWheelStep, wheelSnapStep));
+
+        setAutoAdvanceInterval(typedArray.getInt(
+                R.styleable.GravitySnapRecyclerView_snapAutoAdvanceInterval,
+                (int) AUTO_ADVANCE_DISABLE));
+
         typedArray.recycle();
     }
 
+    @Override
+    public void setAdapter(@Nullable Adapter adapter) {
+        super.setAdapter(adapter);
+        snapHelper.updateAdapterObserver();
+        updateAutoAdvanceObserver();
+        updateAutoAdvance();
+    }
+
+    @Override
+    public void swapAdapter(@Nullable Adapter adapter, boolean removeAndRecycleExistingViews) {
+        super.swapAdapter(adapter, removeAndRecycleExistingViews);
+        snapHelper.updateAdapterObserver();
+        updateAutoAdvanceObserver();
+        updateAutoAdvance();
+    }
+
+    @Override
+    public boolean dispatchTouchEvent(MotionEvent ev) {
+        switch (ev.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                isTouched = true;
+                updateAutoAdvance();
+                break;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                isTouched = false;
+                updateAutoAdvance();
+                break;
+        }
+        return super.dispatchTouchEvent(ev);
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        super.onLayout(changed, l, t, r, b);
+        snapHelper.onLayout();
+        if (pendingSnapPosition != RecyclerView.NO_POSITION) {
+            restorePendingSnap();
+        }
+    }
+
+    @Override
+    protected Parcelable onSaveInstanceState() {
+        final SavedState state = new SavedState(super.onSaveInstanceState());
+        final LayoutManager lm = getLayoutManager();
+        if (pendingSnapPosition != RecyclerView.NO_POSITION) {
+            // Not restored yet, e.g. the adapter is still empty
+            state.snapPosition = pendingSnapPosition;
+            state.snapItemId = pendingSnapItemId;
+        } else if (isSnappingEnabled && lm != null && snapHelper.findSnapView(lm, false) != null) {
+            state.snapPosition = snapHelper.getNextSnapPosition();
+            final Adapter<?> adapter = getAdapter();
+            if (adapter != null && adapter.hasStableIds() && snapHelper.getSnapOffsets() == null
+                    && state.snapPosition != RecyclerView.NO_POSITION
+                    && state.snapPosition < adapter.getItemCount()) {
+                state.snapItemId = adapter.getItemId(state.snapPosition);
+            }
+        }
+        return state;
+    }
+
+    @Override
+    protected void onRestoreInstanceState(Parcelable state) {
+        if (!(state instanceof SavedState)) {
+            super.onRestoreInstanceState(state);
+            return;
+        }
+        final SavedState savedState = (SavedState) state;
+        super.onRestoreInstanceState(savedState.getSuperState());
+        pendingSnapPosition = savedState.snapPosition;
+        pendingSnapItemId = savedState.snapItemId;
+        isPendingSnapScrolled = false;
+        final LayoutManager lm = getLayoutManager();
+        if (pendingSnapPosition != RecyclerView.NO_POSITION && isSnappingEnabled
+                && snapHelper.getSnapOffsets() == null && lm instanceof LinearLayoutManager
+                && lm.getItemCount() > 0) {
+            // Replaces the scroll offset restored by the LayoutManager,
+            // which is wrong if the size of the RecyclerView changed.
+            // The first layout then starts at the snapped item and onLayout aligns it
+            ((LinearLayoutManager) lm).scrollToPositionWithOffset(
+                    getPendingSnapPosition(lm.getItemCount()), 0);
+            isPendingSnapScrolled = true;
+        }
+    }
+
+    @Override
+    public boolean onGenericMotionEvent(MotionEvent event) {
+        final LayoutManager lm = getLayoutManager();
+        if (wheelSnapWindowMs > WHEEL_SNAP_DISABLE && isSnappingEnabled && lm != null
+                && event.getAction() == MotionEvent.ACTION_SCROLL
+                && event.isFromSource(InputDevice.SOURCE_CLASS_POINTER)) {
+            // Same axes RecyclerView uses for its own generic motion scrolls
+            float delta = 0f;
+            if (lm.canScrollVertically()) {
+                delta = -event.getAxisValue(MotionEvent.AXIS_VSCROLL);
+            } else if (lm.canScrollHorizontally()) {
+                delta = event.getAxisValue(MotionEvent.AXIS_HSCROLL);
+            }
+            if (delta != 0f) {
+                wheelDelta += delta;
+                if (!isWheelSnapPending) {
+                    isWheelSnapPending = true;
+                    postDelayed(wheelSnapRunnable, wheelSnapWindowMs);
+                }
+                return true;
+            }
+            // Not in our scroll axis, e.g. a vertical wheel over a horizontal carousel,
+            // so let the parent scroll instead
+            return false;
+        }
+        return super.onGenericMotionEvent(event);
+    }
+
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent event) {
+        if (snapOnFocus && isSnappingEnabled && event.getAction() == KeyEvent.ACTION_DOWN) {
+            switch (event.getKeyCode()) {
+                case KeyEvent.KEYCODE_DPAD_UP:
+                case KeyEvent.KEYCODE_DPAD_DOWN:
+                case KeyEvent.KEYCODE_DPAD_LEFT:
+                case KeyEvent.KEYCODE_DPAD_RIGHT:
+                    // While the key is held down, move the focus at most once per frame
+                    if (event.getRepeatCount() > 0) {
+                        if (isKeyRepeatThrottled) {
+                            return true;
+                        }
+                        isKeyRepeatThrottled = true;
+                        Choreographer.getInstance().postFrameCallback(keyRepeatCallback);
+                    }
+                    break;
+                case KeyEvent.KEYCODE_PAGE_UP:
+                    if (snapToPage(false)) {
+                        return true;
+                    }
+                    break;
+                case KeyEvent.KEYCODE_PAGE_DOWN:
+                    if (snapToPage(true)) {
+                        return true;
+                    }
+                    break;
+            }
+        }
+        return super.dispatchKeyEvent(event);
+    }
+
+    @Override
+    public void requestChildFocus(View child, View focused) {
+        final int position = snapOnFocus && isSnappingEnabled && !isComputingLayout()
+                ? getChildAdapterPosition(child) : RecyclerView.NO_POSITION;
+        final LayoutManager lm = getLayoutManager();
+        if (position == RecyclerView.NO_POSITION || lm == null
+                || snapHelper.isAtSnapPosition(lm, child)) {
+            super.requestChildFocus(child, focused);
+            return;
+        }
+        // SnapOnFocusLayoutManager skips the scroll that brings the focused view on screen,
+        // since the snap to its position already does it
+        isSnappingToFocus = true;
+        try {
+            super.requestChildFocus(child, focused);
+        } finally {
+            isSnappingToFocus = false;
+        }
+        smoothScrollToPosition(position);
+    }
+
+    /**
+     * @return true while the focus moves to a child that's about to be snapped to,
+     * during which the LayoutManager doesn't need to scroll that child on screen.
+     * See {@link SnapOnFocusLayoutManager}.
+     */
+    public boolean isSnappingToFocus() {
+        return isSnappingToFocus;
+    }
+
+    @Override
+    public void onScrollStateChanged(int state) {
+        super.onScrollStateChanged(state);
+        if (state != SCROLL_STATE_IDLE) {
+            return;
+        }
+        snapTargetPosition = RecyclerView.NO_POSITION;
+        if (pendingFocusPosition != RecyclerView.NO_POSITION) {
+            final LayoutManager lm = getLayoutManager();
+            final View view = lm != null ? lm.findViewByPosition(pendingFocusPosition) : null;
+            pendingFocusPosition = RecyclerView.NO_POSITION;
+            if (view != null) {
+                view.requestFocus();
+            }
+        }
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        if (isSnappingEnabled && snapHelper.getRecyclerView() != this) {
+            snapHelper.attachToRecyclerView(this);
+        }
+        updateAutoAdvance();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        // Release the references the SnapHelper keeps to this view and its LayoutManager
+        // while detached, e.g. in a row recycled by a parent list.
+        // It's released before stopping the scroll, so that stopping doesn't start another snap
+        if (isSnappingEnabled) {
+            snapHelper.attachToRecyclerView(null);
+        }
+        stopScroll();
+        super.onDetachedFromWindow();
+        cancelWheelSnap();
+        if (isKeyRepeatThrottled) {
+            Choreographer.getInstance().removeFrameCallback(keyRepeatCallback);
+            isKeyRepeatThrottled = false;
+        }
+        isTouched = false;
+        updateAutoAdvance();
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        updateAutoAdvance();
+    }
+
+    @Override
+    protected void onVisibilityChanged(@NonNull View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        updateAutoAdvance();
+    }
+
+    @Override
+    public void onWindowFocusChanged(boolean hasWindowFocus) {
+        super.onWindowFocusChanged(hasWindowFocus);
+        updateAutoAdvance();
+    }
+
     @Override
     public void smoothScrollToPosition(int position) {
         if (!isSnappingEnabled || !snapHelper.smoothScrollToPosition(position)) {
@@ -110,6 +434,22 @@ public class GravitySnapRecyclerView extends OrientationAwareRecyclerView {
         return snapHelper;
     }
 
+    @NonNull
+    public GravitySnapEngine getSnapEngine() {
+        return snapHelper.getSnapEngine();
+    }
+
+    /**
+     * Shares a snap configuration with other GravitySnapRecyclerViews,
+     * e.g. the rows of a feed of carousels, instead of keeping one per view.
+     * See {@link GravitySnapHelper#setSnapEngine(GravitySnapEngine)}
+     *
+     * @param engine the {@link GravitySnapEngine} to snap with
+     */
+    public void setSnapEngine(@NonNull GravitySnapEngine engine) {
+        snapHelper.setSnapEngine(engine);
+    }
+
     public void enableSnapping(Boolean enable) {
         if (enable) {
             snapHelper.attachToRecyclerView(this);
@@ -117,6 +457,7 @@ public class GravitySnapRecyclerView extends OrientationAwareRecyclerView {
             snapHelper.attachToRecyclerView(null);
         }
         isSnappingEnabled = enable;
+        updateAutoAdvance();
     }
 
     public boolean isSnappingEnabled() {
@@ -135,16 +476,335 @@ public class GravitySnapRecyclerView extends OrientationAwareRecyclerView {
         snapTo(false, smooth);
     }
 
+    /**
+     * @return true if focus changes snap to the focused item. Defaults to false.
+     */
+    public boolean getSnapOnFocus() {
+        return snapOnFocus;
+    }
+
+    /**
+     * If true, moving the focus to an item, e.g. with a D-pad or keyboard, snaps to that item.
+     * With {@link SnapOnFocusLayoutManager}, that's a single animation,
+     * instead of scrolling the item on screen first.
+     * <p>
+     * Holding a key down moves the focus at most once per frame
+     * and page up/page down snap by the number of items visible.
+     *
+     * @param snapOnFocus true if focus changes should snap to the focused item
+     */
+    public void setSnapOnFocus(boolean snapOnFocus) {
+        this.snapOnFocus = snapOnFocus;
+    }
+
+    public long getWheelSnapWindow() {
+        return wheelSnapWindowMs;
+    }
+
+    /**
+     * Mouse wheel and trackpad scrolls are gathered for windowMs
+     * and then turned into a single snap of {@link GravitySnapRecyclerView#getWheelSnapStep()}
+     * items in the direction of the scroll.
+     * <p>
+     * Default value is 100ms
+     *
+     * @param windowMs the time in ms to gather scroll events for
+     *                 or {@link GravitySnapRecyclerView#WHEEL_SNAP_DISABLE}
+     *                 to let RecyclerView handle them
+     */
+    public void setWheelSnapWindow(long windowMs) {
+        wheelSnapWindowMs = windowMs;
+        if (windowMs <= WHEEL_SNAP_DISABLE) {
+            cancelWheelSnap();
+        }
+    }
+
+    public int getWheelSnapStep() {
+        return wheelSnapStep;
+    }
+
+    /**
+     * @param items the number of items to snap by after each mouse wheel or trackpad scroll,
+     *              or {@link GravitySnapRecyclerView#WHEEL_SNAP_STEP_PAGE}
+     *              to snap by the number of items visible. Defaults to 1
+     */
+    public void setWheelSnapStep(int items) {
+        if (items < 0) {
+            throw new IllegalArgumentException("Wheel snap step can't be negative");
+        }
+        wheelSnapStep = items;
+    }
+
+    public long getAutoAdvanceInterval() {
+        return autoAdvanceIntervalMs;
+    }
+
+    /**
+     * Snaps to the next position every intervalMs, going back to the first position
+     * after the last one is reached.
+     * <p>
+     * Auto advance is paused while this view is touched, scrolling,
+     * not visible, not focused or detached from the window.
+     *
+     * @param intervalMs the interval between snaps in ms
+     *                   or {@link GravitySnapRecyclerView#AUTO_ADVANCE_DISABLE} to disable it
+     */
+    public void setAutoAdvanceInterval(long intervalMs) {
+        if (autoAdvanceIntervalMs == intervalMs) {
+            return;
+        }
+        autoAdvanceIntervalMs = intervalMs;
+        updateAutoAdvanceObserver();
+        // Restart the timer with the new interval
+        cancelAutoAdvance();
+        updateAutoAdvance();
+    }
+
     public void setSnapListener(@Nullable GravitySnapHelper.SnapListener listener) {
         snapHelper.setSnapListener(listener);
     }
 
+    public void setImpressionListener(@Nullable SnapImpressions.Listener listener) {
+        snapHelper.setImpressionListener(listener);
+    }
+
+    private boolean shouldAutoAdvance() {
+        final Adapter<?> adapter = getAdapter();
+        return autoAdvanceIntervalMs > AUTO_ADVANCE_DISABLE
+                && isSnappingEnabled
+                && !isTouched
+                && adapter != null
+                && adapter.getItemCount() > 1
+                && isAttachedToWindow()
+                && getWindowVisibility() == View.VISIBLE
+                && isShown()
+                && hasWindowFocus();
+    }
+
+    private void updateAutoAdvance() {
+        final boolean shouldAutoAdvance = shouldAutoAdvance();
+        if (shouldAutoAdvance && !isAutoAdvanceScheduled) {
+            Choreographer.getInstance().postFrameCallbackDelayed(autoAdvanceCallback,
+                    autoAdvanceIntervalMs);
+            isAutoAdvanceScheduled = true;
+        } else if (!shouldAutoAdvance && isAutoAdvanceScheduled) {
+            cancelAutoAdvance();
+        }
+    }
+
+    /**
+     * Observes the adapter while auto advance is enabled,
+     * so that it starts once the items are loaded and stops when fewer than 2 are left.
+     * With {@link RecyclerView#setHasFixedSize(boolean)}, these updates don't request a layout
+     */
+    private void updateAutoAdvanceObserver() {
+        final Adapter<?> adapter = autoAdvanceIntervalMs > AUTO_ADVANCE_DISABLE
+                ? getAdapter() : null;
+        if (adapter == autoAdvanceAdapter) {
+            return;
+        }
+        if (autoAdvanceAdapter != null) {
+            autoAdvanceAdapter.unregisterAdapterDataObserver(getAutoAdvanceObserver());
+        }
+        autoAdvanceAdapter = adapter;
+        if (adapter != null) {
+            adapter.registerAdapterDataObserver(getAutoAdvanceObserver());
+        }
+    }
+
+    @NonNull
+    private AdapterDataObserver getAutoAdvanceObserver() {
+        if (autoAdvanceObserver == null) {
+            autoAdvanceObserver = new AdapterDataObserver() {
+                @Override
+                public void onChanged() {
+                    updateAutoAdvance();
+                }
+
+                @Override
+                public void onItemRangeInserted(int positionStart, int itemCount) {
+                    updateAutoAdvance();
+                }
+
+                @Override
+                public void onItemRangeRemoved(int positionStart, int itemCount) {
+                    updateAutoAdvance();
+                }
+            };
+        }
+        return autoAdvanceObserver;
+    }
+
+    private void cancelAutoAdvance() {
+        if (isAutoAdvanceScheduled) {
+            Choreographer.getInstance().removeFrameCallback(autoAdvanceCallback);
+            isAutoAdvanceScheduled = false;
+        }
+    }
+
+    private void autoAdvance() {
+        final LayoutManager lm = getLayoutManager();
+        final Adapter<?> adapter = getAdapter();
+        // Skip this turn if another snap is still settling
+        if (lm != null && adapter != null && getScrollState() == SCROLL_STATE_IDLE
+                && shouldAutoAdvance()) {
+            final View snapView = snapHelper.findSnapView(lm, false);
+            if (snapView != null) {
+                final int position = snapHelper.getNextSnapPosition();
+                if (position >= snapHelper.getSnapPositionCount() - 1
+                        || (snapHelper.getSnapOffsets() == null
+                        && isLastItemVisible(lm, adapter))) {
+                    smoothScrollToPosition(0);
+                } else {
+                    snapToNextPosition(true);
+                }
+            }
+        }
+        updateAutoAdvance();
+    }
+
+    private boolean isLastItemVisible(@NonNull LayoutManager lm, @NonNull Adapter<?> adapter) {
+        return lm instanceof LinearLayoutManager
+                && ((LinearLayoutManager) lm).findLastCompletelyVisibleItemPosition()
+                == adapter.getItemCount() - 1;
+    }
+
+    private void snapWheel() {
+        final float delta = wheelDelta;
+        wheelDelta = 0f;
+        final LayoutManager lm = getLayoutManager();
+        if (delta == 0f || !isSnappingEnabled || lm == null) {
+            return;
+        }
+        boolean next = delta > 0f;
+        if (lm instanceof LinearLayoutManager
+                && GravitySnapHelper.isLayoutReversed((LinearLayoutManager) lm)) {
+            next = !next;
+        }
+        final int items = wheelSnapStep == WHEEL_SNAP_STEP_PAGE ? getPageSize() : wheelSnapStep;
+        snapBy(next ? items : -items);
+    }
+
+    private void cancelWheelSnap() {
+        if (isWheelSnapPending) {
+            removeCallbacks(wheelSnapRunnable);
+            isWheelSnapPending = false;
+        }
+        wheelDelta = 0f;
+    }
+
+    private boolean snapToPage(boolean next) {
+        final int pageSize = getPageSize();
+        final int position = snapBy(next ? pageSize : -pageSize);
+        if (position == RecyclerView.NO_POSITION) {
+            return false;
+        }
+        if (hasFocus()) {
+            // Move the focus to the new page once the snap ends
+            pendingFocusPosition = position;
+        }
+        return true;
+    }
+
+    /**
+     * Snaps to the position that's a number of items away from the current snap position,
+     * or from the target of the snap that's still running.
+     *
+     * @return the new snap position or {@link RecyclerView#NO_POSITION} if there's no snap
+     */
+    private int snapBy(int items) {
+        final LayoutManager lm = getLayoutManager();
+        final int count = snapHelper.getSnapPositionCount();
+        if (lm == null || count == 0) {
+            return RecyclerView.NO_POSITION;
+        }
+        int position = snapTargetPosition;
+        if (position == RecyclerView.NO_POSITION || getScrollState() == SCROLL_STATE_IDLE) {
+            final View snapView = snapHelper.findSnapView(lm, false);
+            if (snapView == null) {
+                return RecyclerView.NO_POSITION;
+            }
+            position = snapHelper.getNextSnapPosition();
+        }
+        final int target = Math.max(0, Math.min(count - 1, position + items));
+        if (target == position) {
+            return RecyclerView.NO_POSITION;
+        }
+        snapTargetPosition = target;
+        smoothScrollToPosition(target);
+        return target;
+    }
+
+    private int getPageSize() {
+        final LayoutManager lm = getLayoutManager();
+        if (lm instanceof LinearLayoutManager) {
+            final LinearLayoutManager linearLayoutManager = (LinearLayoutManager) lm;
+            final int first = linearLayoutManager.findFirstCompletelyVisibleItemPosition();
+            final int last = linearLayoutManager.findLastCompletelyVisibleItemPosition();
+            if (first != RecyclerView.NO_POSITION && last != RecyclerView.NO_POSITION) {
+                return Math.max(1, last - first + 1);
+            }
+        }
+        return Math.max(1, lm != null ? lm.getChildCount() : 1);
+    }
+
+    /**
+     * Snaps to the position restored in {@link GravitySnapRecyclerView#onRestoreInstanceState}
+     * right after a layout, so the first frame drawn is already snapped
+     * and no snap animation runs afterwards.
+     */
+    private void restorePendingSnap() {
+        final LayoutManager lm = getLayoutManager();
+        if (!isSnappingEnabled || lm == null) {
+            pendingSnapPosition = RecyclerView.NO_POSITION;
+            return;
+        }
+        final int count = snapHelper.getSnapPositionCount();
+        if (count == 0 || lm.getItemCount() == 0) {
+            // Wait for the adapter to have items
+            return;
+        }
+        final int position = getPendingSnapPosition(count);
+        if (snapHelper.scrollToPosition(position) || isPendingSnapScrolled
+                || snapHelper.getSnapOffsets() != null) {
+            pendingSnapPosition = RecyclerView.NO_POSITION;
+            return;
+        }
+        // The snapped item isn't laid out, so move to it and align it in the next layout
+        if (lm instanceof LinearLayoutManager) {
+            ((LinearLayoutManager) lm).scrollToPositionWithOffset(position, 0);
+        } else {
+            lm.scrollToPosition(position);
+        }
+        isPendingSnapScrolled = true;
+    }
+
+    /**
+     * @param count the number of positions that can be snapped to
+     * @return the position of the saved stable id, if it still exists,
+     * or the saved position otherwise
+     */
+    private int getPendingSnapPosition(int count) {
+        final int position = Math.min(pendingSnapPosition, count - 1);
+        final Adapter<?> adapter = getAdapter();
+        if (pendingSnapItemId == RecyclerView.NO_ID || adapter == null || !adapter.hasStableIds()
+                || adapter.getItemId(position) == pendingSnapItemId) {
+            return position;
+        }
+        for (int i = 0; i < adapter.getItemCount(); i++) {
+            if (adapter.getItemId(i) == pendingSnapItemId) {
+                return i;
+            }
+        }
+        return position;
+    }
+
     private void snapTo(Boolean next, Boolean smooth) {
         final RecyclerView.LayoutManager lm = getLayoutManager();
         if (lm != null) {
             final View snapView = snapHelper.findSnapView(lm, false);
             if (snapView != null) {
-                final int pos = getChildAdapterPosition(snapView);
+                final int pos = snapHelper.getNextSnapPosition();
                 if (next) {
                     if (smooth) {
                         smoothScrollToPosition(pos + 1);
@@ -161,4 +821,48 @@ public class GravitySnapRecyclerView extends OrientationAwareRecyclerView {
             }
         }
     }
+
+    /**
+     * Keeps the snapped adapter position, or {@link SnapOffsets} index, and its stable id
+     * on top of the state of RecyclerView
+     */
+    static class SavedState extends AbsSavedState {
+
+        int snapPosition = RecyclerView.NO_POSITION;
+        long snapItemId = RecyclerView.NO_ID;
+
+        SavedState(Parcelable superState) {
+            super(superState);
+        }
+
+        SavedState(@NonNull Parcel source, @Nullable ClassLoader loader) {
+            super(source, loader);
+            snapPosition = source.readInt();
+            snapItemId = source.readLong();
+        }
+
+        @Override
+        public void writeToParcel(@NonNull Parcel dest, int flags) {
+            super.writeToParcel(dest, flags);
+            dest.writeInt(snapPosition);
+            dest.writeLong(snapItemId);
+        }
+
+        public static final Creator<SavedState> CREATOR = new ClassLoaderCreator<SavedState>() {
+            @Override
+            public SavedState createFromParcel(Parcel in, ClassLoader loader) {
+                return new SavedState(in, loader);
+            }
+
+            @Override
+            public SavedState createFromParcel(Parcel in) {
+                return new SavedState(in, null);
+            }
+
+            @Override
+            public SavedState[] newArray(int size) {
+                return new SavedState[size];
+            }
+        };
+    }
 }
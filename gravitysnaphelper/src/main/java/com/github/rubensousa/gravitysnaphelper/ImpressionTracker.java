@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.Arrays;
+
+/**
+ * Keeps track of the items that are visible in a RecyclerView
+ * and when they started being visible.
+ * <p>
+ * Items are recorded in samples: every item visible in the current sample
+ * is passed to {@link ImpressionTracker#record(int, long, float, long)}
+ * and the ones that weren't recorded stop being visible in
+ * {@link ImpressionTracker#endSample(long)}.
+ * <p>
+ * Items are matched by their stable id if the adapter has them, or by their position otherwise.
+ * Positions follow the adapter updates, so that the time an item was visible
+ * isn't credited to the item that takes its position.
+ */
+final class ImpressionTracker {
+
+    static final long DEFAULT_THROTTLE_MS = 500L;
+
+    private final SnapImpressions batch = new SnapImpressions();
+    private int[] positions = new int[8];
+    private long[] itemIds = new long[8];
+    private float[] visibleFractions = new float[8];
+    private long[] visibleSince = new long[8];
+    private int[] samples = new int[8];
+    private int count = 0;
+    private int sample = 0;
+    private long lastSampleTime = 0L;
+    private long lastDeliveryTime = 0L;
+    private long throttleMs = DEFAULT_THROTTLE_MS;
+
+    void setThrottleMs(long throttleMs) {
+        this.throttleMs = throttleMs;
+    }
+
+    boolean shouldSample(long timeMs) {
+        return timeMs - lastSampleTime >= throttleMs;
+    }
+
+    boolean shouldDeliver(long timeMs) {
+        return timeMs - lastDeliveryTime >= throttleMs;
+    }
+
+    void beginSample() {
+        sample++;
+    }
+
+    /**
+     * @param itemId the stable id of the item or {@link RecyclerView#NO_ID}
+     */
+    void record(int position, long itemId, float visibleFraction, long timeMs) {
+        if (position == RecyclerView.NO_POSITION || visibleFraction <= 0f) {
+            return;
+        }
+        int index = itemId != RecyclerView.NO_ID ? indexOfId(itemId) : indexOf(position);
+        if (index == -1) {
+            index = add(position, itemId, timeMs);
+        }
+        positions[index] = position;
+        if (visibleFraction > visibleFractions[index]) {
+            visibleFractions[index] = visibleFraction;
+        }
+        samples[index] = sample;
+    }
+
+    void endSample(long timeMs) {
+        for (int i = count - 1; i >= 0; i--) {
+            if (samples[i] != sample) {
+                end(i, timeMs);
+            }
+        }
+        lastSampleTime = timeMs;
+    }
+
+    void onItemRangeInserted(int positionStart, int itemCount) {
+        for (int i = 0; i < count; i++) {
+            positions[i] = GravitySnapHelper.getPositionAfterInsert(positions[i],
+                    positionStart, itemCount);
+        }
+    }
+
+    void onItemRangeRemoved(int positionStart, int itemCount, long timeMs) {
+        for (int i = count - 1; i >= 0; i--) {
+            final int position = GravitySnapHelper.getPositionAfterRemove(positions[i],
+                    positionStart, itemCount);
+            if (position == RecyclerView.NO_POSITION) {
+                end(i, timeMs);
+            } else {
+                positions[i] = position;
+            }
+        }
+    }
+
+    void onItemRangeMoved(int fromPosition, int toPosition) {
+        for (int i = 0; i < count; i++) {
+            positions[i] = GravitySnapHelper.getPositionAfterMove(positions[i],
+                    fromPosition, toPosition);
+        }
+    }
+
+    /**
+     * Called when the whole data set changed.
+     * Items with stable ids are matched again in the next sample,
+     * while the others stop being visible since their positions can't be trusted anymore.
+     */
+    void onDataSetChanged(long timeMs) {
+        for (int i = count - 1; i >= 0; i--) {
+            if (itemIds[i] == RecyclerView.NO_ID) {
+                end(i, timeMs);
+            }
+        }
+    }
+
+    /**
+     * Delivers every item as no longer visible,
+     * e.g. when the RecyclerView is detached
+     */
+    void flush(@NonNull SnapImpressions.Listener listener, long timeMs) {
+        for (int i = count - 1; i >= 0; i--) {
+            end(i, timeMs);
+        }
+        deliver(listener, timeMs);
+    }
+
+    void deliver(@NonNull SnapImpressions.Listener listener, long timeMs) {
+        for (int i = 0; i < count; i++) {
+            batch.add(positions[i], itemIds[i], visibleFractions[i], timeMs - visibleSince[i],
+                    true);
+        }
+        lastDeliveryTime = timeMs;
+        if (batch.getCount() > 0) {
+            listener.onImpressions(batch);
+        }
+        batch.clear();
+    }
+
+    private int indexOf(int position) {
+        for (int i = 0; i < count; i++) {
+            if (positions[i] == position) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOfId(long itemId) {
+        for (int i = 0; i < count; i++) {
+            if (itemIds[i] == itemId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int add(int position, long itemId, long timeMs) {
+        if (count == positions.length) {
+            final int newSize = count * 2;
+            positions = Arrays.copyOf(positions, newSize);
+            itemIds = Arrays.copyOf(itemIds, newSize);
+            visibleFractions = Arrays.copyOf(visibleFractions, newSize);
+            visibleSince = Arrays.copyOf(visibleSince, newSize);
+            samples = Arrays.copyOf(samples, newSize);
+        }
+        positions[count] = position;
+        itemIds[count] = itemId;
+        visibleFractions[count] = 0f;
+        visibleSince[count] = timeMs;
+        samples[count] = sample;
+        return count++;
+    }
+
+    private void end(int index, long timeMs) {
+        batch.add(positions[index], itemIds[index], visibleFractions[index],
+                timeMs - visibleSince[index], false);
+        removeAt(index);
+    }
+
+    private void removeAt(int index) {
+        final int last = count - 1;
+        positions[index] = positions[last];
+        itemIds[index] = itemIds[last];
+        visibleFractions[index] = visibleFractions[last];
+        visibleSince[index] = visibleSince[last];
+        samples[index] = samples[last];
+        count--;
+    }
+
+}
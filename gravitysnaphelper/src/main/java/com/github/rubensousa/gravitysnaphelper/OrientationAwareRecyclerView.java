@@ -32,7 +32,9 @@ public class OrientationAwareRecyclerView extends RecyclerView {
 
     private float lastX = 0.0f;
     private float lastY = 0.0f;
-    private boolean scrolling = false;
+    private final ScrollStateMachine scrollStateMachine = new ScrollStateMachine();
+    @Nullable
+    private GestureRecorder gestureRecorder;
 
     public OrientationAwareRecyclerView(@NonNull Context context) {
         this(context, null);
@@ -45,17 +47,64 @@ public class OrientationAwareRecyclerView extends RecyclerView {
     public OrientationAwareRecyclerView(@NonNull Context context, @Nullable AttributeSet attrs,
                                         int defStyleAttr) {
         super(context, attrs, defStyleAttr);
-        addOnScrollListener(new OnScrollListener() {
+        addOnScrollListener(scrollStateMachine);
+        scrollStateMachine.addListener(new ScrollStateMachine.Listener() {
             @Override
-            public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
-                super.onScrollStateChanged(recyclerView, newState);
-                scrolling = newState != RecyclerView.SCROLL_STATE_IDLE;
+            public void onStateChanged(int oldState, int newState) {
+                if (gestureRecorder != null) {
+                    gestureRecorder.onScrollStateChanged(scrollStateMachine.getScrollState());
+                }
+            }
+
+            @Override
+            public void onScrolled(int dx, int dy) {
             }
         });
     }
 
+    /**
+     * @return the scroll state shared with the {@link GravitySnapHelper} attached to this view
+     */
+    @NonNull
+    ScrollStateMachine getScrollStateMachine() {
+        return scrollStateMachine;
+    }
+
+    @Nullable
+    public GestureRecorder getGestureRecorder() {
+        return gestureRecorder;
+    }
+
+    /**
+     * Records the touch events and scroll state changes of this RecyclerView
+     * so they can be replayed later with a {@link GestureReplayer}.
+     *
+     * @param recorder a {@link GestureRecorder} or null to stop recording
+     */
+    public void setGestureRecorder(@Nullable GestureRecorder recorder) {
+        gestureRecorder = recorder;
+    }
+
+    @Override
+    public boolean dispatchTouchEvent(MotionEvent ev) {
+        if (gestureRecorder != null) {
+            gestureRecorder.onMotionEvent(ev);
+        }
+        return super.dispatchTouchEvent(ev);
+    }
+
     @Override
     public boolean onInterceptTouchEvent(MotionEvent e) {
+        final boolean traced = SnapTrace.beginSection(SnapTrace.ON_INTERCEPT_TOUCH_EVENT,
+                getChildCount());
+        try {
+            return interceptTouchEvent(e);
+        } finally {
+            SnapTrace.endSection(traced);
+        }
+    }
+
+    private boolean interceptTouchEvent(MotionEvent e) {
         final LayoutManager lm = getLayoutManager();
         if (lm == null) {
             return super.onInterceptTouchEvent(e);
@@ -67,8 +116,8 @@ public class OrientationAwareRecyclerView extends RecyclerView {
             case MotionEvent.ACTION_DOWN: {
                 lastX = e.getX();
                 lastY = e.getY();
-                // If we were scrolling, stop now by faking a touch release
-                if (scrolling) {
+                // If we were settling, stop now by faking a touch release
+                if (scrollStateMachine.isSettling()) {
                     MotionEvent newEvent = MotionEvent.obtain(e);
                     newEvent.setAction(MotionEvent.ACTION_UP);
                     return super.onInterceptTouchEvent(newEvent);
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+
+/**
+ * The single OnScrollListener that tracks why a RecyclerView is scrolling.
+ * <p>
+ * {@link OrientationAwareRecyclerView} owns one and shares it with the
+ * {@link GravitySnapHelper} attached to it, so touch interception, snap dispatch
+ * and metrics all read the same state. A {@link GravitySnapHelper} attached to any other
+ * RecyclerView registers its own.
+ * <p>
+ * The RecyclerView scroll states are refined with what started each settle:
+ * {@link ScrollStateMachine#FLINGING} after {@link ScrollStateMachine#onFling()},
+ * {@link ScrollStateMachine#PROGRAMMATIC} after {@link ScrollStateMachine#onProgrammaticScroll()}
+ * and {@link ScrollStateMachine#SETTLING} for snaps started once the RecyclerView stopped.
+ * <p>
+ * A settle started by a listener that is notified before this one, e.g. the snap
+ * SnapHelper starts once the RecyclerView stops, changes the scroll state while the previous
+ * change is still being dispatched. That previous change reaches this listener afterwards
+ * and is ignored, so listeners only see the state the RecyclerView is actually in.
+ */
+final class ScrollStateMachine extends RecyclerView.OnScrollListener {
+
+    static final int SNAPPED = 0;
+    static final int DRAGGING = 1;
+    static final int FLINGING = 2;
+    static final int SETTLING = 3;
+    static final int PROGRAMMATIC = 4;
+
+    private final ArrayList<Listener> listeners = new ArrayList<>(2);
+    private int state = SNAPPED;
+    private int scrollState = RecyclerView.SCROLL_STATE_IDLE;
+    private boolean isFlingPending = false;
+    private boolean isProgrammaticScrollPending = false;
+
+    void addListener(@NonNull Listener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    void removeListener(@NonNull Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return one of {@link ScrollStateMachine#SNAPPED}, {@link ScrollStateMachine#DRAGGING},
+     * {@link ScrollStateMachine#FLINGING}, {@link ScrollStateMachine#SETTLING}
+     * or {@link ScrollStateMachine#PROGRAMMATIC}
+     */
+    int getState() {
+        return state;
+    }
+
+    /**
+     * @return the last scroll state of the RecyclerView
+     */
+    int getScrollState() {
+        return scrollState;
+    }
+
+    boolean isScrolling() {
+        return state != SNAPPED;
+    }
+
+    /**
+     * @return true if the RecyclerView is moving without the user touching it
+     */
+    boolean isSettling() {
+        return isSettling(state);
+    }
+
+    /**
+     * @return true if the state is {@link ScrollStateMachine#FLINGING},
+     * {@link ScrollStateMachine#SETTLING} or {@link ScrollStateMachine#PROGRAMMATIC}
+     */
+    static boolean isSettling(int state) {
+        return state == FLINGING || state == SETTLING || state == PROGRAMMATIC;
+    }
+
+    /**
+     * Marks the next settle as a fling
+     */
+    void onFling() {
+        isFlingPending = true;
+    }
+
+    /**
+     * Marks the next settle as started by a call to scroll to a position
+     */
+    void onProgrammaticScroll() {
+        isProgrammaticScrollPending = true;
+    }
+
+    @Override
+    public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+        if (newState != recyclerView.getScrollState()) {
+            // Stale: a listener notified before this one already changed the state again
+            return;
+        }
+        final int oldState = state;
+        scrollState = newState;
+        if (newState == RecyclerView.SCROLL_STATE_DRAGGING) {
+            state = DRAGGING;
+            isFlingPending = false;
+            isProgrammaticScrollPending = false;
+        } else if (newState == RecyclerView.SCROLL_STATE_SETTLING) {
+            if (isProgrammaticScrollPending) {
+                state = PROGRAMMATIC;
+            } else if (isFlingPending) {
+                state = FLINGING;
+            } else {
+                state = SETTLING;
+            }
+            isFlingPending = false;
+            isProgrammaticScrollPending = false;
+        } else {
+            state = SNAPPED;
+        }
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onStateChanged(oldState, state);
+        }
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onScrolled(dx, dy);
+        }
+    }
+
+    interface Listener {
+        /**
+         * Called for every scroll state change of the RecyclerView,
+         * including a new settle replacing the one that just ended.
+         *
+         * @param oldState the previous state, e.g. {@link ScrollStateMachine#FLINGING}
+         * @param newState the new state, e.g. {@link ScrollStateMachine#SNAPPED}
+         */
+        void onStateChanged(int oldState, int newState);
+
+        void onScrolled(int dx, int dy);
+    }
+}
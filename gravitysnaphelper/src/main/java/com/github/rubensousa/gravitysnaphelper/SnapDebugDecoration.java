@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * A debug {@link RecyclerView.ItemDecoration} that draws the snap keyline
+ * of a {@link GravitySnapHelper}, highlights the current and predicted snap views
+ * and shows the timings of the last snap search and settle.
+ * <p>
+ * Each RecyclerView needs its own instance, so it can be used in nested RecyclerViews:
+ *
+ * <pre>
+ * recyclerView.addItemDecoration(new SnapDebugDecoration(recyclerView.getSnapHelper()));
+ * </pre>
+ * <p>
+ * This enables {@link GravitySnapHelper#setMetricsEnabled(boolean)}
+ * and shouldn't be used in release builds.
+ */
+public class SnapDebugDecoration extends RecyclerView.ItemDecoration {
+
+    private static final int KEYLINE_COLOR = Color.MAGENTA;
+    private static final int CURRENT_COLOR = Color.GREEN;
+    private static final int PREDICTED_COLOR = Color.YELLOW;
+    private static final int TEXT_COLOR = Color.WHITE;
+    private static final int TEXT_BACKGROUND_COLOR = 0x99000000;
+    private static final String FIND_LABEL = "find ";
+    private static final String MICROS_SUFFIX = "us";
+    private static final String SETTLE_LABEL = " settle ";
+    private static final String MILLIS_SUFFIX = "ms";
+    private static final String FRAMES_LABEL = " ";
+    private static final String FRAMES_SUFFIX = "f";
+
+    @NonNull
+    private final GravitySnapHelper snapHelper;
+    private final Paint linePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint textBackgroundPaint = new Paint();
+    private final char[] text = new char[64];
+    private float density = 0f;
+
+    public SnapDebugDecoration(@NonNull GravitySnapHelper snapHelper) {
+        this.snapHelper = snapHelper;
+        snapHelper.setMetricsEnabled(true);
+        linePaint.setStyle(Paint.Style.STROKE);
+        textPaint.setColor(TEXT_COLOR);
+        textBackgroundPaint.setColor(TEXT_BACKGROUND_COLOR);
+    }
+
+    @Override
+    public void onDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent,
+                           @NonNull RecyclerView.State state) {
+        super.onDrawOver(c, parent, state);
+        final RecyclerView.LayoutManager lm = parent.getLayoutManager();
+        if (lm == null) {
+            return;
+        }
+        if (density == 0f) {
+            density = parent.getResources().getDisplayMetrics().density;
+            linePaint.setStrokeWidth(2 * density);
+            textPaint.setTextSize(12 * density);
+        }
+        final SnapMetrics metrics = snapHelper.getMetrics();
+        drawKeyline(c, parent, lm);
+        drawView(c, lm, snapHelper.getNextSnapPosition(), CURRENT_COLOR);
+        if (metrics != null) {
+            if (metrics.getPredictedPosition() != snapHelper.getNextSnapPosition()) {
+                drawView(c, lm, metrics.getPredictedPosition(), PREDICTED_COLOR);
+            }
+            drawTimings(c, metrics);
+        }
+    }
+
+    private void drawKeyline(@NonNull Canvas c, @NonNull RecyclerView parent,
+                             @NonNull RecyclerView.LayoutManager lm) {
+        // Use the snapped view when there's one, since the keyline can depend on where it is,
+        // e.g. in padded lists that don't snap to the padding
+        final int position = snapHelper.getNextSnapPosition();
+        final View snapView = position != RecyclerView.NO_POSITION
+                ? lm.findViewByPosition(position) : null;
+        final float keyline = snapView != null
+                ? snapHelper.getSnapKeyline(lm, snapView) : snapHelper.getSnapKeyline(lm);
+        linePaint.setColor(KEYLINE_COLOR);
+        if (lm.canScrollHorizontally()) {
+            c.drawLine(keyline, 0, keyline, parent.getHeight(), linePaint);
+        } else {
+            c.drawLine(0, keyline, parent.getWidth(), keyline, linePaint);
+        }
+    }
+
+    private void drawView(@NonNull Canvas c, @NonNull RecyclerView.LayoutManager lm,
+                          int position, int color) {
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+        final View view = lm.findViewByPosition(position);
+        if (view == null) {
+            return;
+        }
+        linePaint.setColor(color);
+        c.drawRect(lm.getDecoratedLeft(view), lm.getDecoratedTop(view),
+                lm.getDecoratedRight(view), lm.getDecoratedBottom(view), linePaint);
+    }
+
+    private void drawTimings(@NonNull Canvas c, @NonNull SnapMetrics metrics) {
+        int length = append(0, FIND_LABEL);
+        length = append(length, metrics.getLastFindSnapViewDurationNs() / 1000);
+        length = append(length, MICROS_SUFFIX);
+        length = append(length, SETTLE_LABEL);
+        length = append(length, metrics.getLastSettleDurationMs());
+        length = append(length, MILLIS_SUFFIX);
+        length = append(length, FRAMES_LABEL);
+        length = append(length, metrics.getLastSettleFrames());
+        length = append(length, FRAMES_SUFFIX);
+        final float padding = 4 * density;
+        final float textHeight = textPaint.getTextSize();
+        c.drawRect(0, 0, textPaint.measureText(text, 0, length) + 2 * padding,
+                textHeight + 2 * padding, textBackgroundPaint);
+        c.drawText(text, 0, length, padding, padding + textHeight * 0.8f, textPaint);
+    }
+
+    private int append(int index, @NonNull String value) {
+        final int length = Math.min(value.length(), text.length - index);
+        value.getChars(0, length, text, index);
+        return index + length;
+    }
+
+    private int append(int index, long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        int digits = 1;
+        for (long remaining = value / 10; remaining > 0; remaining /= 10) {
+            digits++;
+        }
+        if (index + digits > text.length) {
+            return index;
+        }
+        for (int i = index + digits - 1; i >= index; i--) {
+            text[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return index + digits;
+    }
+
+}
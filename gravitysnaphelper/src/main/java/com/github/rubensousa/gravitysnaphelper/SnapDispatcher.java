@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers snap events to the {@link GravitySnapHelper.SnapListener}s
+ * of a {@link GravitySnapHelper}, either synchronously or through an {@link Executor}.
+ * <p>
+ * When an executor is used, positions dispatched before the previous one was delivered
+ * are merged, so only the latest position reaches the listener.
+ * At most one delivery runs at a time, even with an executor that has several threads,
+ * so positions are delivered in order and duplicates are detected.
+ */
+final class SnapDispatcher implements Runnable {
+
+    private final AtomicInteger pendingPosition = new AtomicInteger(RecyclerView.NO_POSITION);
+    private final AtomicBoolean isScheduled = new AtomicBoolean(false);
+    private final AtomicInteger droppedCount = new AtomicInteger();
+    private final AtomicInteger mergedCount = new AtomicInteger();
+    private final List<GravitySnapHelper.SnapListener> extraListeners
+            = new CopyOnWriteArrayList<>();
+    @Nullable
+    private volatile GravitySnapHelper.SnapListener listener;
+    @Nullable
+    private volatile Executor executor;
+    private volatile boolean suppressDuplicates = false;
+    private volatile int lastDeliveredPosition = RecyclerView.NO_POSITION;
+
+    @Nullable
+    GravitySnapHelper.SnapListener getListener() {
+        return listener;
+    }
+
+    void setListener(@Nullable GravitySnapHelper.SnapListener listener) {
+        this.listener = listener;
+    }
+
+    void addListener(@NonNull GravitySnapHelper.SnapListener listener) {
+        extraListeners.add(listener);
+    }
+
+    void removeListener(@NonNull GravitySnapHelper.SnapListener listener) {
+        extraListeners.remove(listener);
+    }
+
+    boolean hasListeners() {
+        return listener != null || !extraListeners.isEmpty();
+    }
+
+    @Nullable
+    Executor getExecutor() {
+        return executor;
+    }
+
+    void setExecutor(@Nullable Executor executor) {
+        this.executor = executor;
+    }
+
+    boolean getSuppressDuplicates() {
+        return suppressDuplicates;
+    }
+
+    void setSuppressDuplicates(boolean suppress) {
+        suppressDuplicates = suppress;
+    }
+
+    int getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    int getMergedCount() {
+        return mergedCount.get();
+    }
+
+    /**
+     * Forgets the last delivered position,
+     * so that the next one isn't considered a duplicate.
+     */
+    void reset() {
+        lastDeliveredPosition = RecyclerView.NO_POSITION;
+    }
+
+    void dispatch(int position) {
+        final Executor currentExecutor = executor;
+        if (currentExecutor == null) {
+            deliver(position);
+            return;
+        }
+        if (pendingPosition.getAndSet(position) != RecyclerView.NO_POSITION) {
+            mergedCount.incrementAndGet();
+        }
+        if (isScheduled.compareAndSet(false, true)) {
+            currentExecutor.execute(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            final int position = pendingPosition.getAndSet(RecyclerView.NO_POSITION);
+            if (position != RecyclerView.NO_POSITION) {
+                deliver(position);
+            }
+            // Only cleared after delivering, so that dispatch doesn't start another run meanwhile.
+            // A position dispatched since then wasn't scheduled, so deliver it here
+            isScheduled.set(false);
+            if (pendingPosition.get() == RecyclerView.NO_POSITION
+                    || !isScheduled.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Only called by one thread at a time: the main thread without an executor
+     * or the run scheduled in the executor otherwise
+     */
+    private void deliver(int position) {
+        if (!hasListeners()) {
+            return;
+        }
+        if (suppressDuplicates && position == lastDeliveredPosition) {
+            droppedCount.incrementAndGet();
+            return;
+        }
+        lastDeliveredPosition = position;
+        final GravitySnapHelper.SnapListener currentListener = listener;
+        if (currentListener != null) {
+            currentListener.onSnap(position);
+        }
+        for (GravitySnapHelper.SnapListener extraListener : extraListeners) {
+            extraListener.onSnap(position);
+        }
+    }
+
+}
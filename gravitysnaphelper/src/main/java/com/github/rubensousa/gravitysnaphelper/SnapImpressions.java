@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * A batch of item impressions reported by {@link GravitySnapHelper}
+ * to a {@link SnapImpressions.Listener}.
+ * <p>
+ * Each entry is an item that was visible since the previous batch:
+ * either an item that's still visible or an item that stopped being visible.
+ * <p>
+ * The same instance is reused for all batches, so don't keep a reference to it.
+ * Copy the values you need instead.
+ */
+public final class SnapImpressions {
+
+    private int[] positions = new int[8];
+    private long[] itemIds = new long[8];
+    private float[] visibleFractions = new float[8];
+    private long[] visibleDurations = new long[8];
+    private boolean[] visible = new boolean[8];
+    private int count = 0;
+
+    SnapImpressions() {
+    }
+
+    /**
+     * @return the number of items in this batch
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @param index index of the entry, between 0 and {@link SnapImpressions#getCount()}
+     * @return the adapter position of the item, or the last one it had if it was removed
+     */
+    public int getPosition(int index) {
+        return positions[index];
+    }
+
+    /**
+     * @param index index of the entry, between 0 and {@link SnapImpressions#getCount()}
+     * @return the stable id of the item,
+     * or {@link androidx.recyclerview.widget.RecyclerView#NO_ID} if the adapter has no stable ids
+     */
+    public long getItemId(int index) {
+        return itemIds[index];
+    }
+
+    /**
+     * @param index index of the entry, between 0 and {@link SnapImpressions#getCount()}
+     * @return the maximum fraction of the item that was visible, between 0 and 1
+     */
+    public float getVisibleFraction(int index) {
+        return visibleFractions[index];
+    }
+
+    /**
+     * @param index index of the entry, between 0 and {@link SnapImpressions#getCount()}
+     * @return how long the item has been visible in ms
+     */
+    public long getVisibleDurationMs(int index) {
+        return visibleDurations[index];
+    }
+
+    /**
+     * @param index index of the entry, between 0 and {@link SnapImpressions#getCount()}
+     * @return true if the item is still visible,
+     * or false if this is the last time it's reported for the current impression
+     */
+    public boolean isVisible(int index) {
+        return visible[index];
+    }
+
+    void add(int position, long itemId, float visibleFraction, long visibleDuration,
+             boolean isVisible) {
+        if (count == positions.length) {
+            final int newSize = count * 2;
+            positions = Arrays.copyOf(positions, newSize);
+            itemIds = Arrays.copyOf(itemIds, newSize);
+            visibleFractions = Arrays.copyOf(visibleFractions, newSize);
+            visibleDurations = Arrays.copyOf(visibleDurations, newSize);
+            visible = Arrays.copyOf(visible, newSize);
+        }
+        positions[count] = position;
+        itemIds[count] = itemId;
+        visibleFractions[count] = visibleFraction;
+        visibleDurations[count] = visibleDuration;
+        visible[count] = isVisible;
+        count++;
+    }
+
+    void clear() {
+        count = 0;
+    }
+
+    /**
+     * Receives the item impressions of a {@link GravitySnapHelper}
+     */
+    public interface Listener {
+        /**
+         * Called on the main thread when the RecyclerView stops scrolling
+         * and periodically while it scrolls.
+         *
+         * @param impressions the items that were visible since the last call.
+         *                    This instance is reused for the next calls
+         */
+        void onImpressions(@NonNull SnapImpressions impressions);
+    }
+
+}
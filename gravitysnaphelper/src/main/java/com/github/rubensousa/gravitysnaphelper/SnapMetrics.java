@@ -0,0 +1,323 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Snapping metrics collected by {@link GravitySnapHelper}
+ * when a {@link SnapMetrics.Sink} is set through
+ * {@link GravitySnapHelper#setMetricsSink(SnapMetrics.Sink)}
+ * or {@link GravitySnapHelper#setMetricsEnabled(boolean)} is enabled.
+ * <p>
+ * Gesture values are reset after every {@link Sink#onGestureMetrics(SnapMetrics)} call,
+ * while the counters keep growing for the lifetime of the {@link GravitySnapHelper}.
+ * <p>
+ * The same instance is reused for all gestures, so don't keep a reference to it.
+ * Copy the values you need instead.
+ */
+public final class SnapMetrics {
+
+    private int flingVelocityX;
+    private int flingVelocityY;
+    private int predictedPosition = RecyclerView.NO_POSITION;
+    private int actualPosition = RecyclerView.NO_POSITION;
+    private long settleStartTime;
+    private long settleDurationMs;
+    private int settleFrames;
+    private int snapDistance;
+    private int findSnapViewCalls;
+    private int childVisits;
+    private int layoutPasses;
+    private int gestureCount;
+    private int resnapCount;
+    private int residualCorrectionCount;
+    private int abortedSmoothScrollCount;
+    private int missedPredictionCount;
+    private long lastFindSnapViewDurationNs;
+    private long lastSettleDurationMs;
+    private int lastSettleFrames;
+
+    SnapMetrics() {
+    }
+
+    /**
+     * @return the horizontal velocity of the last fling in pixels per second,
+     * or 0 if the gesture didn't fling
+     */
+    public int getFlingVelocityX() {
+        return flingVelocityX;
+    }
+
+    /**
+     * @return the vertical velocity of the last fling in pixels per second,
+     * or 0 if the gesture didn't fling
+     */
+    public int getFlingVelocityY() {
+        return flingVelocityY;
+    }
+
+    /**
+     * @return the position the gesture was expected to land on
+     * or {@link RecyclerView#NO_POSITION} if there was no prediction
+     */
+    public int getPredictedPosition() {
+        return predictedPosition;
+    }
+
+    /**
+     * Read from the snap position once the RecyclerView settled,
+     * independently of {@link SnapMetrics#getPredictedPosition()}.
+     *
+     * @return the position the gesture landed on
+     * or {@link RecyclerView#NO_POSITION} if it's unknown,
+     * e.g. at an edge of the list that isn't snapped
+     */
+    public int getActualPosition() {
+        return actualPosition;
+    }
+
+    /**
+     * @return the duration of the settle in ms
+     */
+    public long getSettleDurationMs() {
+        return settleDurationMs;
+    }
+
+    /**
+     * @return the number of frames that scrolled during the settle
+     */
+    public int getSettleFrames() {
+        return settleFrames;
+    }
+
+    /**
+     * @return the distance in pixels that the snap had to cover once the target was found
+     */
+    public int getSnapDistance() {
+        return snapDistance;
+    }
+
+    /**
+     * @return the number of times the snap view was searched during the gesture
+     */
+    public int getFindSnapViewCalls() {
+        return findSnapViewCalls;
+    }
+
+    /**
+     * @return the number of children visited while searching for the snap view
+     */
+    public int getChildVisits() {
+        return childVisits;
+    }
+
+    /**
+     * Only counted when the {@link GravitySnapHelper} is used by a
+     * {@link GravitySnapRecyclerView}.
+     *
+     * @return the number of layout passes of the RecyclerView during the gesture
+     */
+    public int getLayoutPasses() {
+        return layoutPasses;
+    }
+
+    /**
+     * @return how long the last search for the snap view took in ns
+     */
+    public long getLastFindSnapViewDurationNs() {
+        return lastFindSnapViewDurationNs;
+    }
+
+    /**
+     * Unlike {@link SnapMetrics#getSettleDurationMs()},
+     * this isn't reset after a gesture is reported.
+     *
+     * @return the duration of the last settle that ended in ms
+     */
+    public long getLastSettleDurationMs() {
+        return lastSettleDurationMs;
+    }
+
+    /**
+     * Unlike {@link SnapMetrics#getSettleFrames()},
+     * this isn't reset after a gesture is reported.
+     *
+     * @return the number of frames of the last settle that ended
+     */
+    public int getLastSettleFrames() {
+        return lastSettleFrames;
+    }
+
+    /**
+     * @return the number of gestures reported so far
+     */
+    public int getGestureCount() {
+        return gestureCount;
+    }
+
+    /**
+     * Counted when the RecyclerView stops after a fling, snap or scroll to a position
+     * and the snap started at that point still has to move it,
+     * e.g. because the items moved while the settle ran.
+     * Settles that end up to 2px away from the snap position aren't counted,
+     * see {@link SnapMetrics#getResidualCorrectionCount()}.
+     *
+     * @return the number of times a settle didn't land on the snap position
+     * and another snap had to be done afterwards
+     */
+    public int getResnapCount() {
+        return resnapCount;
+    }
+
+    /**
+     * @return the number of settles that ended a few px away from the snap position
+     * and were corrected without another snap
+     */
+    public int getResidualCorrectionCount() {
+        return residualCorrectionCount;
+    }
+
+    /**
+     * @return the number of settles that were interrupted by the user
+     */
+    public int getAbortedSmoothScrollCount() {
+        return abortedSmoothScrollCount;
+    }
+
+    /**
+     * Only gestures with both a {@link SnapMetrics#getPredictedPosition()}
+     * and a {@link SnapMetrics#getActualPosition()} are compared.
+     *
+     * @return the number of gestures that landed on another position than the predicted one
+     */
+    public int getMissedPredictionCount() {
+        return missedPredictionCount;
+    }
+
+    void onFling(int velocityX, int velocityY) {
+        flingVelocityX = velocityX;
+        flingVelocityY = velocityY;
+    }
+
+    void onTargetPredicted(int position) {
+        predictedPosition = position;
+    }
+
+    void onFindSnapView(long durationNs) {
+        findSnapViewCalls++;
+        lastFindSnapViewDurationNs = durationNs;
+    }
+
+    void onChildrenVisited(int count) {
+        childVisits += count;
+    }
+
+    void onLayout() {
+        layoutPasses++;
+    }
+
+    void onSnapDistance(int distance) {
+        snapDistance = distance;
+    }
+
+    void onResnap() {
+        resnapCount++;
+    }
+
+    void onResidualCorrected() {
+        residualCorrectionCount++;
+    }
+
+    /**
+     * @param state the {@link ScrollStateMachine} state
+     */
+    void onScrolled(int state) {
+        if (ScrollStateMachine.isSettling(state)) {
+            settleFrames++;
+        }
+    }
+
+    /**
+     * A settle replaced by another one, e.g. a re-snap, is measured as part of the same gesture.
+     *
+     * @param oldState the previous {@link ScrollStateMachine} state
+     * @param newState the new {@link ScrollStateMachine} state
+     * @return true if the gesture ended and should be reported
+     */
+    boolean onStateChanged(int oldState, int newState, long timeMs) {
+        final boolean wasSettling = ScrollStateMachine.isSettling(oldState);
+        if (ScrollStateMachine.isSettling(newState)) {
+            if (!wasSettling) {
+                settleStartTime = timeMs;
+            }
+            return false;
+        }
+        if (!wasSettling) {
+            return false;
+        }
+        settleDurationMs = timeMs - settleStartTime;
+        lastSettleDurationMs = settleDurationMs;
+        lastSettleFrames = settleFrames;
+        if (newState == ScrollStateMachine.DRAGGING) {
+            abortedSmoothScrollCount++;
+        }
+        return true;
+    }
+
+    /**
+     * @param snapPosition the position the RecyclerView settled on,
+     *                     or {@link RecyclerView#NO_POSITION} if it's unknown
+     */
+    void onGestureFinished(int snapPosition) {
+        actualPosition = snapPosition;
+        if (predictedPosition != RecyclerView.NO_POSITION
+                && actualPosition != RecyclerView.NO_POSITION
+                && predictedPosition != actualPosition) {
+            missedPredictionCount++;
+        }
+        gestureCount++;
+    }
+
+    void resetGesture() {
+        flingVelocityX = 0;
+        flingVelocityY = 0;
+        predictedPosition = RecyclerView.NO_POSITION;
+        actualPosition = RecyclerView.NO_POSITION;
+        settleDurationMs = 0;
+        settleFrames = 0;
+        snapDistance = 0;
+        findSnapViewCalls = 0;
+        childVisits = 0;
+        layoutPasses = 0;
+    }
+
+    /**
+     * Receives the metrics of every gesture handled by {@link GravitySnapHelper}
+     */
+    public interface Sink {
+        /**
+         * Called on the main thread after each settle ends or is interrupted.
+         *
+         * @param metrics the metrics of the gesture that just finished.
+         *                This instance is reused for the next gestures
+         */
+        void onGestureMetrics(@NonNull SnapMetrics metrics);
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.Arrays;
+
+/**
+ * Fixed scroll offsets to snap to, independent of the child views,
+ * e.g. every hour mark of a programme guide.
+ * <p>
+ * Offsets are distances in px from the start of the list: the RecyclerView is snapped
+ * when it's scrolled by one of these values. Items can have different sizes,
+ * since the offset is measured from the first item while it's laid out
+ * and then tracked from the distance scrolled, instead of
+ * {@link RecyclerView#computeHorizontalScrollOffset()}, which is an estimate.
+ * This requires a LinearLayoutManager and reaching the items by scrolling:
+ * after a jump far from the start, e.g. with {@link RecyclerView#scrollToPosition(int)},
+ * the offset is estimated again until the first item is laid out,
+ * which is only exact if all items have the same size.
+ * <p>
+ * Use {@link GravitySnapHelper#setSnapOffsets(SnapOffsets)} to snap to them.
+ */
+public final class SnapOffsets {
+
+    private final int[] offsets;
+
+    /**
+     * @param offsets scroll offsets in px, in any order
+     */
+    public SnapOffsets(@NonNull int[] offsets) {
+        this.offsets = Arrays.copyOf(offsets, offsets.length);
+        Arrays.sort(this.offsets);
+    }
+
+    /**
+     * @param start    the first offset in px
+     * @param interval the distance between two offsets in px
+     * @param count    the number of offsets
+     * @return offsets at a fixed interval
+     */
+    @NonNull
+    public static SnapOffsets fromInterval(int start, int interval, int count) {
+        final int[] offsets = new int[count];
+        for (int i = 0; i < count; i++) {
+            offsets[i] = start + i * interval;
+        }
+        return new SnapOffsets(offsets);
+    }
+
+    public int size() {
+        return offsets.length;
+    }
+
+    /**
+     * @param index index of the offset, between 0 and {@link SnapOffsets#size()} - 1
+     * @return the offset at that index, in ascending order
+     */
+    public int get(int index) {
+        return offsets[index];
+    }
+
+    /**
+     * @param scrollOffset the current scroll offset
+     * @return the index of the offset closest to scrollOffset
+     * or {@link RecyclerView#NO_POSITION} if there are no offsets
+     */
+    public int findNearestIndex(int scrollOffset) {
+        if (offsets.length == 0) {
+            return RecyclerView.NO_POSITION;
+        }
+        final int result = Arrays.binarySearch(offsets, scrollOffset);
+        if (result >= 0) {
+            return result;
+        }
+        final int insertion = -(result + 1);
+        if (insertion == 0) {
+            return 0;
+        }
+        if (insertion == offsets.length) {
+            return offsets.length - 1;
+        }
+        return scrollOffset - offsets[insertion - 1] <= offsets[insertion] - scrollOffset
+                ? insertion - 1 : insertion;
+    }
+
+    /**
+     * @param scrollOffset the current scroll offset
+     * @param distance     the distance the scroll is projected to move, e.g. by a fling
+     * @return the index of the offset closest to scrollOffset + distance,
+     * at least one offset away from scrollOffset in the direction of distance,
+     * or {@link RecyclerView#NO_POSITION} if there are no offsets
+     */
+    public int findTargetIndex(int scrollOffset, int distance) {
+        int index = findNearestIndex(scrollOffset + distance);
+        if (index == RecyclerView.NO_POSITION) {
+            return index;
+        }
+        if (distance > 0 && offsets[index] <= scrollOffset) {
+            final int result = Arrays.binarySearch(offsets, scrollOffset);
+            index = result >= 0 ? result + 1 : -(result + 1);
+        } else if (distance < 0 && offsets[index] >= scrollOffset) {
+            final int result = Arrays.binarySearch(offsets, scrollOffset);
+            index = result >= 0 ? result - 1 : -(result + 1) - 1;
+        }
+        return Math.max(0, Math.min(offsets.length - 1, index));
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import android.content.Context;
+import android.graphics.Rect;
+import android.util.AttributeSet;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * A {@link LinearLayoutManager} that doesn't scroll a focused item on screen
+ * while {@link GravitySnapRecyclerView} snaps to it,
+ * so that {@link GravitySnapRecyclerView#setSnapOnFocus(boolean)} runs a single animation.
+ * <p>
+ * Other LayoutManagers can do the same by returning false from
+ * {@link RecyclerView.LayoutManager#requestChildRectangleOnScreen(RecyclerView, View, Rect,
+ * boolean, boolean)} while {@link GravitySnapRecyclerView#isSnappingToFocus()} is true.
+ */
+public class SnapOnFocusLayoutManager extends LinearLayoutManager {
+
+    public SnapOnFocusLayoutManager(@NonNull Context context) {
+        super(context);
+    }
+
+    public SnapOnFocusLayoutManager(@NonNull Context context, int orientation,
+                                    boolean reverseLayout) {
+        super(context, orientation, reverseLayout);
+    }
+
+    public SnapOnFocusLayoutManager(@NonNull Context context, @Nullable AttributeSet attrs,
+                                    int defStyleAttr, int defStyleRes) {
+        super(context, attrs, defStyleAttr, defStyleRes);
+    }
+
+    @Override
+    public boolean requestChildRectangleOnScreen(@NonNull RecyclerView parent,
+                                                 @NonNull View child,
+                                                 @NonNull Rect rect,
+                                                 boolean immediate,
+                                                 boolean focusedChildVisible) {
+        if (parent instanceof GravitySnapRecyclerView
+                && ((GravitySnapRecyclerView) parent).isSnappingToFocus()) {
+            // The snap to the focused item scrolls it on screen
+            return false;
+        }
+        return super.requestChildRectangleOnScreen(parent, child, rect, immediate,
+                focusedChildVisible);
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+
+/**
+ * Keeps the RecyclerViews of several {@link GravitySnapHelper} in sync,
+ * e.g. a tab strip, a thumbnail rail and a pager.
+ * <p>
+ * The RecyclerView that starts scrolling, either through touch or programmatically,
+ * becomes the leader. Every frame it scrolls, the others are moved to the same progress,
+ * including the fraction scrolled between two positions,
+ * without scroll listeners or snaps of their own feeding back into the leader.
+ * Followers are scrolled in place when their target is laid out,
+ * so they get at most one layout per frame.
+ * <p>
+ * Positions are mapped through the ratio passed to
+ * {@link SnapSyncCoordinator#link(GravitySnapHelper, float)}: a RecyclerView linked
+ * with a ratio of 2 moves by 2 positions whenever one linked with a ratio of 1 moves by 1.
+ */
+public final class SnapSyncCoordinator {
+
+    private final ArrayList<Link> links = new ArrayList<>();
+    @Nullable
+    private Link leader;
+    private boolean isSyncing = false;
+
+    /**
+     * Links a {@link GravitySnapHelper} with a 1:1 position mapping
+     *
+     * @param snapHelper a {@link GravitySnapHelper} already attached to a RecyclerView
+     */
+    public void link(@NonNull GravitySnapHelper snapHelper) {
+        link(snapHelper, 1f);
+    }
+
+    /**
+     * @param snapHelper    a {@link GravitySnapHelper} already attached to a RecyclerView
+     * @param positionRatio the number of positions this RecyclerView moves
+     *                      for each position step of the coordinator
+     */
+    public void link(@NonNull GravitySnapHelper snapHelper, float positionRatio) {
+        final RecyclerView recyclerView = snapHelper.getRecyclerView();
+        if (recyclerView == null) {
+            throw new IllegalStateException("GravitySnapHelper needs to be attached " +
+                    "to a RecyclerView before being linked");
+        }
+        if (positionRatio <= 0f) {
+            throw new IllegalArgumentException("Position ratio must be greater than 0");
+        }
+        unlink(snapHelper);
+        final Link link = new Link(snapHelper, recyclerView, positionRatio);
+        recyclerView.addOnScrollListener(link);
+        links.add(link);
+    }
+
+    public void unlink(@NonNull GravitySnapHelper snapHelper) {
+        for (int i = links.size() - 1; i >= 0; i--) {
+            final Link link = links.get(i);
+            if (link.snapHelper == snapHelper) {
+                link.release();
+                links.remove(i);
+                if (leader == link) {
+                    leader = null;
+                }
+            }
+        }
+    }
+
+    public void unlinkAll() {
+        for (int i = 0; i < links.size(); i++) {
+            links.get(i).release();
+        }
+        links.clear();
+        leader = null;
+    }
+
+    private void onScrollStateChanged(@NonNull Link link, int newState) {
+        if (isSyncing) {
+            return;
+        }
+        if (newState != RecyclerView.SCROLL_STATE_IDLE && leader != link) {
+            setLeader(link);
+        } else if (newState == RecyclerView.SCROLL_STATE_IDLE && leader == link) {
+            // This listener is notified before the leader's SnapHelper,
+            // which might still start a settle from here, so check again afterwards
+            link.recyclerView.removeCallbacks(link.snapFollowersRunnable);
+            link.recyclerView.post(link.snapFollowersRunnable);
+        }
+    }
+
+    private void onLeaderStopped(@NonNull Link link) {
+        if (!isSyncing && leader == link
+                && link.recyclerView.getScrollState() == RecyclerView.SCROLL_STATE_IDLE) {
+            syncFollowers(link, true);
+        }
+    }
+
+    private void onScrolled(@NonNull Link link) {
+        if (!isSyncing && leader == link) {
+            syncFollowers(link, false);
+        }
+    }
+
+    private void setLeader(@NonNull Link link) {
+        leader = link;
+        isSyncing = true;
+        for (int i = 0; i < links.size(); i++) {
+            final RecyclerView recyclerView = links.get(i).recyclerView;
+            if (links.get(i) != link) {
+                recyclerView.stopScroll();
+                // Stopping makes the follower's own SnapHelper start a snap, stop that one too
+                if (recyclerView.getScrollState() != RecyclerView.SCROLL_STATE_IDLE) {
+                    recyclerView.stopScroll();
+                }
+            }
+        }
+        isSyncing = false;
+    }
+
+    private void syncFollowers(@NonNull Link leader, boolean snap) {
+        final RecyclerView.LayoutManager lm = leader.recyclerView.getLayoutManager();
+        if (lm == null || links.size() < 2) {
+            return;
+        }
+        final float leaderProgress = leader.snapHelper.getSnapProgress(lm);
+        if (leaderProgress == RecyclerView.NO_POSITION) {
+            return;
+        }
+        final float progress = leaderProgress / leader.positionRatio;
+        isSyncing = true;
+        for (int i = 0; i < links.size(); i++) {
+            final Link link = links.get(i);
+            if (link != leader) {
+                link.scrollTo(progress * link.positionRatio, snap);
+            }
+        }
+        isSyncing = false;
+    }
+
+    private final class Link extends RecyclerView.OnScrollListener {
+
+        final GravitySnapHelper snapHelper;
+        final RecyclerView recyclerView;
+        final float positionRatio;
+        final Runnable snapFollowersRunnable = new Runnable() {
+            @Override
+            public void run() {
+                onLeaderStopped(Link.this);
+            }
+        };
+
+        Link(GravitySnapHelper snapHelper, RecyclerView recyclerView, float positionRatio) {
+            this.snapHelper = snapHelper;
+            this.recyclerView = recyclerView;
+            this.positionRatio = positionRatio;
+        }
+
+        void release() {
+            recyclerView.removeOnScrollListener(this);
+            recyclerView.removeCallbacks(snapFollowersRunnable);
+        }
+
+        @Override
+        public void onScrollStateChanged(@NonNull RecyclerView view, int newState) {
+            SnapSyncCoordinator.this.onScrollStateChanged(this, newState);
+        }
+
+        @Override
+        public void onScrolled(@NonNull RecyclerView view, int dx, int dy) {
+            SnapSyncCoordinator.this.onScrolled(this);
+        }
+
+        void scrollTo(float progress, boolean snap) {
+            final RecyclerView.Adapter<?> adapter = recyclerView.getAdapter();
+            if (adapter == null || adapter.getItemCount() == 0) {
+                return;
+            }
+            final float target = Math.max(0f, Math.min(adapter.getItemCount() - 1, progress));
+            if (snap) {
+                // Land exactly on the snap position once the leader stops
+                final int position = Math.round(target);
+                if (!snapHelper.scrollToPosition(position)) {
+                    recyclerView.scrollToPosition(position);
+                }
+            } else if (!snapHelper.scrollToSnapProgress(target)) {
+                // The SnapHelper is released while its GravitySnapRecyclerView is detached
+                recyclerView.scrollToPosition(Math.round(target));
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import android.os.Build;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.tracing.Trace;
+
+/**
+ * Trace sections for the snapping hot paths.
+ * <p>
+ * Section names are only built if tracing is enabled,
+ * so these calls don't allocate otherwise.
+ * <p>
+ * Before API 29, {@link Trace#isEnabled()} checks the trace tag through reflection,
+ * which boxes the tag and allocates its arguments on every call.
+ * There, the result is reused for {@link SnapTrace#ENABLED_CHECK_INTERVAL_MS},
+ * about a frame, since these sections run for every touch event and frame.
+ */
+final class SnapTrace {
+
+    static final String FIND_SNAP_VIEW = "GSH#findSnapView";
+    static final String CALCULATE_DISTANCE_TO_FINAL_SNAP = "GSH#calculateDistanceToFinalSnap";
+    static final String CALCULATE_SCROLL_DISTANCE = "GSH#calculateScrollDistance";
+    static final String CREATE_SCROLLER = "GSH#createScroller";
+    static final String ON_TARGET_FOUND = "GSH#onTargetFound";
+    static final String DISPATCH_SNAP = "GSH#dispatchSnap";
+    static final String ON_INTERCEPT_TOUCH_EVENT = "OARV#onInterceptTouchEvent";
+    static final long ENABLED_CHECK_INTERVAL_MS = 16L;
+
+    // Only accessed from the main thread
+    private static boolean isEnabled;
+    private static long lastEnabledCheckTime = -ENABLED_CHECK_INTERVAL_MS;
+
+    private SnapTrace() {
+    }
+
+    /**
+     * @return true if a section was started and needs to be closed
+     * with {@link SnapTrace#endSection(boolean)}
+     */
+    static boolean beginSection(@NonNull String name, int gravity, int childCount) {
+        if (!isEnabled()) {
+            return false;
+        }
+        Trace.beginSection(name + " gravity=" + gravity + " children=" + childCount);
+        return true;
+    }
+
+    /**
+     * @return true if a section was started and needs to be closed
+     * with {@link SnapTrace#endSection(boolean)}
+     */
+    static boolean beginSection(@NonNull String name, int childCount) {
+        if (!isEnabled()) {
+            return false;
+        }
+        Trace.beginSection(name + " children=" + childCount);
+        return true;
+    }
+
+    private static boolean isEnabled() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            return Trace.isEnabled();
+        }
+        final long now = SystemClock.uptimeMillis();
+        if (now - lastEnabledCheckTime >= ENABLED_CHECK_INTERVAL_MS) {
+            isEnabled = Trace.isEnabled();
+            lastEnabledCheckTime = now;
+        }
+        return isEnabled;
+    }
+
+    static void endSection(boolean started) {
+        if (started) {
+            Trace.endSection();
+        }
+    }
+
+}
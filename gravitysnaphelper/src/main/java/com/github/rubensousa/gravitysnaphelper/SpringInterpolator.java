@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import android.view.animation.Interpolator;
+
+/**
+ * Maps the progress of a settle to the position of a damped spring
+ * that starts at the snap distance with an initial velocity and rests at the snap position.
+ * <p>
+ * The same instance is reused for every settle, so that RecyclerView
+ * keeps its scroller instead of creating a new one for each interpolator.
+ * The spring is solved analytically in {@link SpringInterpolator#getInterpolation(float)},
+ * so frames don't allocate and the last frame always lands on the snap position.
+ */
+final class SpringInterpolator implements Interpolator {
+
+    static final float DEFAULT_STIFFNESS = 1500f;
+    static final float DEFAULT_DAMPING_RATIO = 1f;
+
+    // Distance in px under which the spring is considered at rest
+    private static final float REST_THRESHOLD = 0.5f;
+    private static final float MAX_DURATION_S = 2f;
+    private static final float DURATION_STEP_S = 1 / 480f;
+    private static final int MAX_REST_TIME_ITERATIONS = 8;
+
+    private float stiffness = DEFAULT_STIFFNESS;
+    private float dampingRatio = DEFAULT_DAMPING_RATIO;
+    private float naturalFrequency;
+    private float dampedFrequency;
+    private float velocity;
+    private float durationS;
+
+    void setStiffness(float stiffness) {
+        this.stiffness = stiffness;
+    }
+
+    float getStiffness() {
+        return stiffness;
+    }
+
+    void setDampingRatio(float dampingRatio) {
+        this.dampingRatio = dampingRatio;
+    }
+
+    float getDampingRatio() {
+        return dampingRatio;
+    }
+
+    /**
+     * Prepares the spring for a new settle.
+     *
+     * @param distance the distance to the snap position in px
+     * @param velocity the current scroll velocity in px/s, in the same axis as distance
+     * @return the duration of the settle in ms
+     */
+    int start(int distance, float velocity) {
+        naturalFrequency = (float) Math.sqrt(stiffness);
+        dampedFrequency = dampingRatio < 1f
+                ? naturalFrequency * (float) Math.sqrt(1 - dampingRatio * dampingRatio) : 0f;
+        // Positions are normalized, so the spring starts at -1 and rests at 0
+        this.velocity = distance != 0 ? velocity / distance : 0f;
+        final float threshold = REST_THRESHOLD / Math.max(1, Math.abs(distance));
+        durationS = Math.max(DURATION_STEP_S, Math.min(MAX_DURATION_S, getRestTime(threshold)));
+        return (int) Math.ceil(durationS * 1000);
+    }
+
+    @Override
+    public float getInterpolation(float input) {
+        if (input >= 1f) {
+            return 1f;
+        }
+        return 1f + getDisplacement(input * durationS);
+    }
+
+    /**
+     * Solves when the envelope of the displacement drops under the threshold,
+     * which is never earlier than when the spring itself does.
+     *
+     * @param threshold the normalized distance under which the spring is at rest
+     * @return the time in seconds after which the spring stays at rest
+     */
+    private float getRestTime(float threshold) {
+        final float w = naturalFrequency;
+        final float z = dampingRatio;
+        final double amplitude;
+        final double decay;
+        if (z < 1f) {
+            // |x(t)| <= sqrt(x0^2 + b^2) * e^(-z*w*t)
+            final float b = (velocity - z * w) / dampedFrequency;
+            amplitude = Math.hypot(1, b);
+            decay = z * w;
+        } else if (z > 1f) {
+            // |x(t)| <= (|c1| + |c2|) * e^(r1*t), since r2 < r1 < 0
+            final float root = w * (float) Math.sqrt(z * z - 1);
+            final float r1 = -z * w + root;
+            final float r2 = -z * w - root;
+            final float c1 = (velocity + r2) / (r1 - r2);
+            final float c2 = -1f - c1;
+            amplitude = Math.abs(c1) + Math.abs(c2);
+            decay = -r1;
+        } else {
+            return getCriticalRestTime(threshold);
+        }
+        if (amplitude <= threshold) {
+            return 0f;
+        }
+        if (decay <= 0) {
+            return MAX_DURATION_S;
+        }
+        return (float) (Math.log(amplitude / threshold) / decay);
+    }
+
+    /**
+     * With critical damping, |x(t)| <= (1 + |b|*t) * e^(-w*t),
+     * so the rest time is the root of h(t) = ln(1 + |b|*t) - w*t - ln(threshold).
+     * h is concave and positive at 0, so Newton's method converges to the root
+     * from any time where h is negative, without crossing it.
+     */
+    private float getCriticalRestTime(float threshold) {
+        final float w = naturalFrequency;
+        final float b = Math.abs(velocity - w);
+        final double logThreshold = Math.log(threshold);
+        double t = Math.max(-logThreshold / w, 1 / w);
+        while (t < MAX_DURATION_S && Math.log(1 + b * t) - w * t > logThreshold) {
+            t *= 2;
+        }
+        if (t >= MAX_DURATION_S) {
+            return MAX_DURATION_S;
+        }
+        for (int i = 0; i < MAX_REST_TIME_ITERATIONS; i++) {
+            final double h = Math.log(1 + b * t) - w * t - logThreshold;
+            final double step = h / (b / (1 + b * t) - w);
+            t -= step;
+            if (Math.abs(step) < DURATION_STEP_S) {
+                break;
+            }
+        }
+        return (float) t;
+    }
+
+    private float getDisplacement(float t) {
+        final float x0 = -1f;
+        final float w = naturalFrequency;
+        final float z = dampingRatio;
+        if (z < 1f) {
+            final float wd = dampedFrequency;
+            final float b = (velocity + z * w * x0) / wd;
+            return (float) (Math.exp(-z * w * t)
+                    * (x0 * Math.cos(wd * t) + b * Math.sin(wd * t)));
+        } else if (z == 1f) {
+            final float b = velocity + w * x0;
+            return (float) ((x0 + b * t) * Math.exp(-w * t));
+        } else {
+            final float root = w * (float) Math.sqrt(z * z - 1);
+            final float r1 = -z * w + root;
+            final float r2 = -z * w - root;
+            final float c1 = (velocity - r2 * x0) / (r1 - r2);
+            final float c2 = x0 - c1;
+            return (float) (c1 * Math.exp(r1 * t) + c2 * Math.exp(r2 * t));
+        }
+    }
+}
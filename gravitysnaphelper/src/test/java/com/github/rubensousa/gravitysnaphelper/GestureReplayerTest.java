@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import androidx.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class GestureReplayerTest {
+
+    private SnapTestHarness harness;
+    private GestureRecorder recorder;
+    private int recordedPosition;
+
+    @Before
+    public void setup() {
+        harness = new SnapTestHarness(20);
+        recorder = new GestureRecorder();
+    }
+
+    @After
+    public void tearDown() {
+        harness.destroy();
+    }
+
+    @Test
+    public void testReplayedDragSnapsToRecordedPosition() {
+        final GestureTrace trace = record(new Runnable() {
+            @Override
+            public void run() {
+                harness.drag(SnapTestHarness.ITEM_SIZE + SnapTestHarness.ITEM_SIZE / 4);
+            }
+        });
+        assertThat(recordedPosition).isEqualTo(1);
+
+        final GestureReplayer.Result result = replay(trace);
+
+        assertThat(result.getSnapPositions()).asList().containsExactly(recordedPosition);
+        assertThat(harness.recyclerView.getCurrentSnappedPosition()).isEqualTo(recordedPosition);
+        assertThat(harness.getStartOffset(recordedPosition)).isEqualTo(0);
+        assertThat(result.getResnapCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testReplayedFlingSnapsToRecordedPosition() {
+        final GestureTrace trace = record(new Runnable() {
+            @Override
+            public void run() {
+                harness.fling(SnapTestHarness.ITEM_SIZE * 2);
+            }
+        });
+        assertThat(recordedPosition).isGreaterThan(0);
+
+        final GestureReplayer.Result result = replay(trace);
+
+        assertThat(result.getSnapPositions()).asList().contains(recordedPosition);
+        assertThat(harness.recyclerView.getCurrentSnappedPosition()).isEqualTo(recordedPosition);
+        assertThat(harness.getStartOffset(recordedPosition)).isEqualTo(0);
+    }
+
+    @Test
+    public void testReplayedTraceFromBytesSnapsToRecordedPosition() {
+        final GestureTrace trace = record(new Runnable() {
+            @Override
+            public void run() {
+                harness.drag(2 * SnapTestHarness.ITEM_SIZE + SnapTestHarness.ITEM_SIZE / 4);
+            }
+        });
+        assertThat(recordedPosition).isEqualTo(2);
+
+        replay(GestureTrace.fromByteArray(trace.toByteArray()));
+
+        assertThat(harness.recyclerView.getCurrentSnappedPosition()).isEqualTo(recordedPosition);
+    }
+
+    /**
+     * Records the gesture, keeps the position it snapped to in recordedPosition
+     * and scrolls back to the first item, so it can be replayed from there
+     */
+    @NonNull
+    private GestureTrace record(@NonNull Runnable gesture) {
+        harness.recyclerView.setGestureRecorder(recorder);
+        gesture.run();
+        harness.settle();
+        harness.recyclerView.setGestureRecorder(null);
+        recordedPosition = harness.recyclerView.getCurrentSnappedPosition();
+        harness.recyclerView.scrollToPosition(0);
+        harness.idle();
+        assertThat(harness.recyclerView.getCurrentSnappedPosition()).isEqualTo(0);
+        return recorder.getTrace();
+    }
+
+    @NonNull
+    private GestureReplayer.Result replay(@NonNull GestureTrace trace) {
+        return new GestureReplayer(trace).replay(harness.recyclerView, harness);
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.view.MotionEvent;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class GestureTraceTest {
+
+    // Times on both sides of every varint byte boundary, up to one that needs 6 bytes
+    private static final long[] EVENT_TIMES = {
+            0L, 0L, 1L, 127L, 128L, 16383L, 16384L, 2097151L, 2097152L, 1L << 35
+    };
+
+    // Positions in 1/8 px steps, so they're stored exactly, with negative and large deltas
+    private static final float[] POSITIONS = {
+            0f, 0.125f, -0.125f, 15.875f, 16f, -2048f, 2047.875f, 262144f, -262144f, 0.5f
+    };
+
+    @Test
+    public void testRecordedTouchesAreReadBackUnchanged() {
+        final GestureRecorder recorder = new GestureRecorder();
+        for (int i = 0; i < EVENT_TIMES.length; i++) {
+            recordMotion(recorder, getAction(i), EVENT_TIMES[i],
+                    POSITIONS[i], POSITIONS[POSITIONS.length - 1 - i]);
+        }
+
+        final GestureTrace.Reader reader = recorder.getTrace().newReader();
+        for (int i = 0; i < EVENT_TIMES.length; i++) {
+            assertThat(reader.next()).isTrue();
+            assertThat(reader.type).isEqualTo(GestureTrace.RECORD_MOTION);
+            assertThat(reader.timeDelta)
+                    .isEqualTo(i == 0 ? 0L : EVENT_TIMES[i] - EVENT_TIMES[i - 1]);
+            assertThat(reader.action).isEqualTo(getAction(i));
+            assertThat(reader.getX()).isEqualTo(POSITIONS[i]);
+            assertThat(reader.getY()).isEqualTo(POSITIONS[POSITIONS.length - 1 - i]);
+        }
+        assertThat(reader.next()).isFalse();
+    }
+
+    @Test
+    public void testTraceIsReadBackFromBytes() {
+        final GestureRecorder recorder = new GestureRecorder();
+        recordMotion(recorder, MotionEvent.ACTION_DOWN, 100L, 150f, 50f);
+        recordMotion(recorder, MotionEvent.ACTION_MOVE, 116L, 90.5f, 50f);
+        recorder.onScrollStateChanged(ScrollStateMachine.DRAGGING);
+        recordMotion(recorder, MotionEvent.ACTION_UP, 132L, 30.25f, 50f);
+        recorder.onScrollStateChanged(ScrollStateMachine.SETTLING);
+        final GestureTrace trace = recorder.getTrace();
+
+        final GestureTrace.Reader reader =
+                GestureTrace.fromByteArray(trace.toByteArray()).newReader();
+
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.action).isEqualTo(MotionEvent.ACTION_DOWN);
+        assertThat(reader.getX()).isEqualTo(150f);
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.action).isEqualTo(MotionEvent.ACTION_MOVE);
+        assertThat(reader.timeDelta).isEqualTo(16L);
+        assertThat(reader.getX()).isEqualTo(90.5f);
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.type).isEqualTo(GestureTrace.RECORD_SCROLL_STATE);
+        assertThat(reader.scrollState).isEqualTo(ScrollStateMachine.DRAGGING);
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.action).isEqualTo(MotionEvent.ACTION_UP);
+        assertThat(reader.getX()).isEqualTo(30.25f);
+        assertThat(reader.getY()).isEqualTo(50f);
+        assertThat(reader.next()).isTrue();
+        assertThat(reader.scrollState).isEqualTo(ScrollStateMachine.SETTLING);
+        assertThat(reader.next()).isFalse();
+        assertThat(trace.getSize()).isEqualTo(trace.toByteArray().length);
+    }
+
+    @Test
+    public void testClearedRecorderOnlyHasTheHeader() {
+        final GestureRecorder recorder = new GestureRecorder();
+        recordMotion(recorder, MotionEvent.ACTION_DOWN, 0L, 10f, 10f);
+        recorder.clear();
+
+        assertThat(recorder.getTrace().getSize()).isEqualTo(GestureTrace.HEADER_SIZE);
+        assertThat(recorder.getTrace().newReader().next()).isFalse();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromByteArrayRejectsOtherData() {
+        GestureTrace.fromByteArray(new byte[]{1, 2, 3, 4, GestureTrace.VERSION});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromByteArrayRejectsOtherVersions() {
+        final byte[] bytes = new GestureRecorder().getTrace().toByteArray();
+        bytes[4] = GestureTrace.VERSION + 1;
+        GestureTrace.fromByteArray(bytes);
+    }
+
+    private static int getAction(int index) {
+        if (index == 0) {
+            return MotionEvent.ACTION_DOWN;
+        }
+        return index == EVENT_TIMES.length - 1 ? MotionEvent.ACTION_UP : MotionEvent.ACTION_MOVE;
+    }
+
+    private static void recordMotion(@NonNull GestureRecorder recorder, int action,
+                                     long eventTime, float x, float y) {
+        final MotionEvent event = MotionEvent.obtain(0L, eventTime, action, x, y, 0);
+        recorder.onMotionEvent(event);
+        event.recycle();
+    }
+
+}
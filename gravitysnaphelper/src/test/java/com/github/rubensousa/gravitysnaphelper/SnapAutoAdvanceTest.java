@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class SnapAutoAdvanceTest {
+
+    private static final long INTERVAL_MS = 1000L;
+
+    private SnapTestHarness harness;
+    private GravitySnapRecyclerView recyclerView;
+    private SnapTestHarness.TestAdapter adapter;
+
+    @Before
+    public void setup() {
+        harness = new SnapTestHarness(0);
+        recyclerView = harness.recyclerView;
+        adapter = (SnapTestHarness.TestAdapter) recyclerView.getAdapter();
+        // Adapter updates then don't request a layout
+        recyclerView.setHasFixedSize(true);
+        recyclerView.setAutoAdvanceInterval(INTERVAL_MS);
+        harness.focusWindow();
+    }
+
+    @After
+    public void tearDown() {
+        harness.destroy();
+    }
+
+    @Test
+    public void testAutoAdvanceStartsOnceItemsAreLoaded() {
+        harness.advanceBy(INTERVAL_MS * 2);
+        assertThat(recyclerView.getCurrentSnappedPosition()).isEqualTo(RecyclerView.NO_POSITION);
+
+        adapter.insertItems(20);
+        harness.idle();
+        harness.advanceBy(INTERVAL_MS + 100L);
+        harness.settle();
+
+        assertThat(recyclerView.getCurrentSnappedPosition()).isEqualTo(1);
+    }
+
+}
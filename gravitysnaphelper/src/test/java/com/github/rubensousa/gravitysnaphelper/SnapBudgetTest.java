@@ -0,0 +1,251 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.google.common.collect.Range;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Budgets for binds, layout passes, snap view searches and allocations
+ * of scripted gestures in a single carousel and in a feed of carousels
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SnapBudgetTest {
+
+    private static final int ITEM_COUNT = 20;
+    private static final int ROW_COUNT = 20;
+    private static final int BURST_SIZE = 5;
+    private static final long FRAME_MS = 16L;
+    // Besides the items scrolled into view, the next one is bound while it's partly visible
+    // and another one can be prefetched
+    private static final int BIND_SLACK = 2;
+    // A carousel binds the items it shows, plus the one after them while it's scrolled
+    private static final int ITEM_BINDS_PER_ROW = SnapTestHarness.VISIBLE_ITEMS + 1;
+    // Snap view searches that don't depend on how long a gesture settles for,
+    // e.g. for the fling target, the snap once idle and the check of the settled position
+    private static final int FIND_SNAP_VIEW_CALLS_PER_GESTURE = 4;
+    private static final int ALLOCATION_RUNS = 1000;
+    // Allows for the noise of the measurement itself, while the search allocates nothing
+    private static final long ALLOCATED_BYTES_PER_RUN = 8L;
+
+    private SnapTestHarness harness;
+
+    @Before
+    public void setup() {
+        harness = new SnapTestHarness(ITEM_COUNT);
+    }
+
+    @After
+    public void tearDown() {
+        harness.destroy();
+    }
+
+    @Test
+    public void testFlingBindsOnlyItemsScrolledIntoView() {
+        final SnapTestHarness.TestAdapter adapter = SnapTestHarness.getAdapter(
+                harness.recyclerView);
+        final SnapTestHarness.GestureLog log =
+                new SnapTestHarness.GestureLog(harness.getSnapHelper());
+        final int binds = adapter.getBindCount();
+
+        harness.fling(SnapTestHarness.ITEM_SIZE * 2);
+        harness.settle();
+
+        final int position = harness.recyclerView.getCurrentSnappedPosition();
+        assertThat(position).isGreaterThan(0);
+        assertThat(harness.getStartOffset(position)).isEqualTo(0);
+        assertThat(adapter.getBindCount() - binds).isAtMost(position + BIND_SLACK);
+        assertFindSnapViewCallsPerGesture(log, 0);
+        assertThat(log.getTotalFindSnapViewCalls()).isLessThan(log.getTotalSettleFrames());
+        assertThat(log.getTotalLayoutPasses()).isEqualTo(0);
+    }
+
+    @Test
+    public void testSnapToNextPositionBurstBindsOnlyItemsScrolledIntoView() {
+        final SnapTestHarness.TestAdapter adapter = SnapTestHarness.getAdapter(
+                harness.recyclerView);
+        final SnapTestHarness.GestureLog log =
+                new SnapTestHarness.GestureLog(harness.getSnapHelper());
+        final int binds = adapter.getBindCount();
+
+        harness.snapToNextPositions(harness.recyclerView, BURST_SIZE);
+        harness.settle();
+
+        final int position = harness.recyclerView.getCurrentSnappedPosition();
+        assertThat(position).isIn(Range.closed(1, BURST_SIZE));
+        assertThat(harness.getStartOffset(position)).isEqualTo(0);
+        assertThat(adapter.getBindCount() - binds).isAtMost(position + BIND_SLACK);
+        // Every call searches for the current snap view once
+        assertFindSnapViewCallsPerGesture(log, BURST_SIZE);
+        assertThat(log.getTotalLayoutPasses()).isEqualTo(0);
+    }
+
+    @Test
+    public void testAdapterUpdatesDuringSettleKeepSnapAndBinds() {
+        final SnapTestHarness.TestAdapter adapter = SnapTestHarness.getAdapter(
+                harness.recyclerView);
+        final GravitySnapHelper snapHelper = harness.getSnapHelper();
+        final SnapTestHarness.GestureLog log = new SnapTestHarness.GestureLog(snapHelper);
+        final LinearLayoutManager lm =
+                (LinearLayoutManager) harness.recyclerView.getLayoutManager();
+        final int binds = adapter.getBindCount();
+
+        harness.recyclerView.smoothScrollToPosition(10);
+        harness.advanceBy(FRAME_MS * 3);
+        adapter.insertItems(5);
+        // Rebinds a visible item in place
+        adapter.resizeItem(lm.findFirstVisibleItemPosition(), SnapTestHarness.ITEM_SIZE);
+        harness.settle();
+
+        assertThat(harness.recyclerView.getCurrentSnappedPosition()).isEqualTo(10);
+        assertThat(harness.getStartOffset(10)).isEqualTo(0);
+        assertThat(adapter.getBindCount() - binds).isAtMost(10 + BIND_SLACK + 1);
+        assertFindSnapViewCallsPerGesture(log, 0);
+        assertThat(snapHelper.getMetrics().getResnapCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testFeedFlingBindsOnlyRowsScrolledIntoView() {
+        final RecyclerView feed = harness.addFeed(ROW_COUNT, ITEM_COUNT);
+        final SnapTestHarness.FeedAdapter adapter = SnapTestHarness.getFeedAdapter(feed);
+        final int rowBinds = adapter.getBindCount();
+        final int itemBinds = adapter.getItemBindCount();
+        assertThat(rowBinds).isEqualTo(SnapTestHarness.VISIBLE_ROWS);
+
+        harness.fling(feed, SnapTestHarness.ITEM_SIZE * 2);
+        harness.settle(feed);
+
+        final LinearLayoutManager lm = (LinearLayoutManager) feed.getLayoutManager();
+        final int rowsScrolledIntoView = lm.findLastVisibleItemPosition()
+                - (SnapTestHarness.VISIBLE_ROWS - 1);
+        final int newRowBinds = adapter.getBindCount() - rowBinds;
+        assertThat(rowsScrolledIntoView).isGreaterThan(0);
+        assertThat(newRowBinds).isAtMost(rowsScrolledIntoView + BIND_SLACK);
+        assertThat(adapter.getItemBindCount() - itemBinds)
+                .isAtMost(newRowBinds * ITEM_BINDS_PER_ROW);
+    }
+
+    @Test
+    public void testCarouselFlingInFeedOnlyBindsItsOwnItems() {
+        final RecyclerView feed = harness.addFeed(ROW_COUNT, ITEM_COUNT);
+        final SnapTestHarness.FeedAdapter feedAdapter = SnapTestHarness.getFeedAdapter(feed);
+        final GravitySnapRecyclerView carousel = SnapTestHarness.getCarousel(feed, 1);
+        final SnapTestHarness.TestAdapter adapter = SnapTestHarness.getAdapter(carousel);
+        final SnapTestHarness.GestureLog log =
+                new SnapTestHarness.GestureLog(carousel.getSnapHelper());
+        final int rowBinds = feedAdapter.getBindCount();
+        final int itemBinds = feedAdapter.getItemBindCount();
+        final int binds = adapter.getBindCount();
+
+        harness.fling(carousel, SnapTestHarness.ITEM_SIZE * 2);
+        harness.settle(carousel);
+
+        final int position = carousel.getCurrentSnappedPosition();
+        final int newBinds = adapter.getBindCount() - binds;
+        assertThat(position).isGreaterThan(0);
+        assertThat(SnapTestHarness.getStartOffset(carousel, position)).isEqualTo(0);
+        assertThat(newBinds).isAtMost(position + BIND_SLACK);
+        // Neither the feed nor the other carousels are bound again
+        assertThat(feedAdapter.getBindCount()).isEqualTo(rowBinds);
+        assertThat(feedAdapter.getItemBindCount() - itemBinds).isEqualTo(newBinds);
+        assertFindSnapViewCallsPerGesture(log, 0);
+        assertThat(log.getTotalFindSnapViewCalls()).isLessThan(log.getTotalSettleFrames());
+        assertThat(log.getTotalLayoutPasses()).isEqualTo(0);
+    }
+
+    @Test
+    public void testCarouselBurstInFeedKeepsSnapDuringAdapterUpdates() {
+        final RecyclerView feed = harness.addFeed(ROW_COUNT, ITEM_COUNT);
+        final SnapTestHarness.FeedAdapter feedAdapter = SnapTestHarness.getFeedAdapter(feed);
+        final GravitySnapRecyclerView carousel = SnapTestHarness.getCarousel(feed, 0);
+        final SnapTestHarness.TestAdapter adapter = SnapTestHarness.getAdapter(carousel);
+        final SnapTestHarness.GestureLog log =
+                new SnapTestHarness.GestureLog(carousel.getSnapHelper());
+        final int rowBinds = feedAdapter.getBindCount();
+        final int binds = adapter.getBindCount();
+
+        harness.snapToNextPositions(carousel, BURST_SIZE);
+        // Both lists load more items while the carousel is still settling
+        feedAdapter.insertRows(5);
+        adapter.insertItems(5);
+        harness.settle(carousel);
+
+        final int position = carousel.getCurrentSnappedPosition();
+        assertThat(position).isIn(Range.closed(1, BURST_SIZE));
+        assertThat(SnapTestHarness.getStartOffset(carousel, position)).isEqualTo(0);
+        assertThat(adapter.getBindCount() - binds).isAtMost(position + BIND_SLACK);
+        assertThat(feedAdapter.getBindCount()).isEqualTo(rowBinds);
+        assertFindSnapViewCallsPerGesture(log, BURST_SIZE);
+        assertThat(carousel.getSnapHelper().getMetrics().getResnapCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testFindSnapViewDoesNotAllocate() {
+        assumeTrue(SnapTestHarness.getAllocatedBytes() >= 0);
+        final RecyclerView feed = harness.addFeed(ROW_COUNT, ITEM_COUNT);
+        final GravitySnapRecyclerView carousel = SnapTestHarness.getCarousel(feed, 0);
+        final GravitySnapHelper snapHelper = carousel.getSnapHelper();
+        final RecyclerView.LayoutManager lm = carousel.getLayoutManager();
+        carousel.smoothScrollToPosition(3);
+        harness.settle(carousel);
+        // Lets the JIT compile the search before measuring it
+        findSnapViews(snapHelper, lm);
+
+        final long start = SnapTestHarness.getAllocatedBytes();
+        final View snapView = findSnapViews(snapHelper, lm);
+        final long allocated = SnapTestHarness.getAllocatedBytes() - start;
+
+        assertThat(lm.getPosition(snapView)).isEqualTo(3);
+        assertThat(allocated).isAtMost(ALLOCATION_RUNS * ALLOCATED_BYTES_PER_RUN);
+    }
+
+    private static View findSnapViews(@NonNull GravitySnapHelper snapHelper,
+                                      @NonNull RecyclerView.LayoutManager lm) {
+        View snapView = null;
+        for (int i = 0; i < ALLOCATION_RUNS; i++) {
+            snapView = snapHelper.findSnapView(lm);
+            snapHelper.getCurrentSnappedPosition();
+        }
+        return snapView;
+    }
+
+    /**
+     * Fails if the gestures reported to log searched for the snap view more often
+     * than their budget plus extraCalls, e.g. once every frame they settled for
+     */
+    private static void assertFindSnapViewCallsPerGesture(
+            @NonNull SnapTestHarness.GestureLog log, int extraCalls) {
+        assertThat(log.findSnapViewCalls).isNotEmpty();
+        assertThat(log.getTotalFindSnapViewCalls()).isAtMost(
+                log.findSnapViewCalls.size() * FIND_SNAP_VIEW_CALLS_PER_GESTURE + extraCalls);
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.lang.ref.WeakReference;
+
+@RunWith(RobolectricTestRunner.class)
+public class SnapDetachTest {
+
+    private static final int GC_ATTEMPTS = 20;
+
+    private SnapTestHarness harness;
+
+    @Before
+    public void setup() {
+        harness = new SnapTestHarness(20);
+    }
+
+    @After
+    public void tearDown() {
+        harness.destroy();
+    }
+
+    @Test
+    public void testDetachedRecyclerViewAndSnapHelperAreCollected() throws InterruptedException {
+        final WeakReference<GravitySnapRecyclerView> recyclerView = detachNewRecyclerView();
+        final WeakReference<GravitySnapHelper> snapHelper =
+                new WeakReference<>(recyclerView.get().getSnapHelper());
+        // Anything still scheduled for the detached views runs before collecting them
+        harness.advanceBy(1000L);
+
+        assertThat(isCollected(recyclerView)).isTrue();
+        assertThat(isCollected(snapHelper)).isTrue();
+    }
+
+    @Test
+    public void testDetachedFollowerIsSyncedOnceAttachedAgain() {
+        final GravitySnapRecyclerView follower = harness.addRecyclerView(20);
+        final SnapSyncCoordinator coordinator = new SnapSyncCoordinator();
+        coordinator.link(harness.getSnapHelper());
+        coordinator.link(follower.getSnapHelper());
+        harness.detachRecyclerView(follower);
+
+        harness.recyclerView.smoothScrollToPosition(5);
+        harness.settle();
+        harness.attachRecyclerView(follower);
+
+        assertThat(harness.recyclerView.getCurrentSnappedPosition()).isEqualTo(5);
+        assertThat(follower.getCurrentSnappedPosition()).isEqualTo(5);
+    }
+
+    @Test
+    public void testDetachedSnapHelperIgnoresProgressAndFlings() {
+        final GravitySnapHelper snapHelper = harness.getSnapHelper();
+        harness.detachRecyclerView(harness.recyclerView);
+
+        assertThat(snapHelper.scrollToSnapProgress(3f)).isFalse();
+        assertThat(snapHelper.onFling(5000, 0)).isFalse();
+        assertThat(snapHelper.smoothScrollToPosition(3)).isFalse();
+        assertThat(snapHelper.getCurrentSnappedPosition()).isEqualTo(RecyclerView.NO_POSITION);
+    }
+
+    /**
+     * Lays out a RecyclerView with every listener of its SnapHelper registered,
+     * snaps it and detaches it, without keeping a strong reference to it
+     */
+    @NonNull
+    private WeakReference<GravitySnapRecyclerView> detachNewRecyclerView() {
+        final GravitySnapRecyclerView recyclerView = harness.addRecyclerView(20);
+        final GravitySnapHelper snapHelper = recyclerView.getSnapHelper();
+        snapHelper.setKeepSnapOnResize(true);
+        snapHelper.setAnchorSnappedItem(true);
+        snapHelper.setDeferSnapDuringItemAnimations(true);
+        snapHelper.setMetricsEnabled(true);
+        snapHelper.setImpressionListener(new SnapImpressions.Listener() {
+            @Override
+            public void onImpressions(@NonNull SnapImpressions impressions) {
+            }
+        });
+        recyclerView.smoothScrollToPosition(3);
+        harness.settle(recyclerView);
+        harness.detachRecyclerView(recyclerView);
+        return new WeakReference<>(recyclerView);
+    }
+
+    private static boolean isCollected(@NonNull WeakReference<?> reference)
+            throws InterruptedException {
+        for (int i = 0; i < GC_ATTEMPTS && reference.get() != null; i++) {
+            System.gc();
+            System.runFinalization();
+            Thread.sleep(10L);
+        }
+        return reference.get() == null;
+    }
+
+}
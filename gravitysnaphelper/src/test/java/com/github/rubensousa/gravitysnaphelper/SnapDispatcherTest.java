@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SnapDispatcherTest {
+
+    private static final int DISPATCHES = 2000;
+
+    private final SnapDispatcher dispatcher = new SnapDispatcher();
+    private final List<Integer> positions = new CopyOnWriteArrayList<>();
+    private final AtomicInteger deliveries = new AtomicInteger();
+    private final AtomicInteger maxConcurrentDeliveries = new AtomicInteger();
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        executor = Executors.newFixedThreadPool(4);
+        dispatcher.setExecutor(executor);
+        dispatcher.setListener(new GravitySnapHelper.SnapListener() {
+            @Override
+            public void onSnap(int position) {
+                final int concurrent = deliveries.incrementAndGet();
+                maxConcurrentDeliveries.accumulateAndGet(concurrent, Math::max);
+                positions.add(position);
+                Thread.yield();
+                deliveries.decrementAndGet();
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testMultiThreadedExecutorDeliversOneAtATimeInOrder()
+            throws InterruptedException {
+        for (int i = 0; i < DISPATCHES; i++) {
+            dispatcher.dispatch(i);
+        }
+        // Every position is either delivered or merged into a later one
+        awaitHandled(DISPATCHES);
+
+        assertThat(maxConcurrentDeliveries.get()).isEqualTo(1);
+        assertThat(positions).isInStrictOrder();
+        assertThat(positions.get(positions.size() - 1)).isEqualTo(DISPATCHES - 1);
+    }
+
+    @Test
+    public void testMultiThreadedExecutorSuppressesDuplicates() throws InterruptedException {
+        dispatcher.setSuppressDuplicates(true);
+        for (int i = 0; i < DISPATCHES; i++) {
+            dispatcher.dispatch(i / 2);
+            // Wait for each one, so that duplicates are dropped instead of merged
+            awaitHandled(i + 1);
+        }
+
+        assertThat(maxConcurrentDeliveries.get()).isEqualTo(1);
+        assertThat(positions).isInStrictOrder();
+        assertThat(positions).hasSize(DISPATCHES / 2);
+        assertThat(dispatcher.getDroppedCount()).isEqualTo(DISPATCHES / 2);
+    }
+
+    private void awaitHandled(int count) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline && (deliveries.get() != 0
+                || positions.size() + dispatcher.getMergedCount()
+                + dispatcher.getDroppedCount() < count)) {
+            Thread.sleep(1);
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.view.Gravity;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class SnapEngineTest {
+
+    // The keyline is at 90px, so the item at position 1 is the nearest one and starts at 60px
+    private static final float KEYLINE_FRACTION = 0.3f;
+    private static final int KEYLINE_START_OFFSET = 60;
+
+    private SnapTestHarness harness;
+    private GravitySnapRecyclerView other;
+    private GravitySnapEngine engine;
+
+    @Before
+    public void setup() {
+        harness = new SnapTestHarness(20);
+        other = harness.addRecyclerView(20);
+        engine = new GravitySnapEngine(Gravity.START);
+        harness.recyclerView.setSnapEngine(engine);
+        other.setSnapEngine(engine);
+    }
+
+    @After
+    public void tearDown() {
+        harness.destroy();
+    }
+
+    @Test
+    public void testEngineChangesDoNotScrollUntilApplied() {
+        engine.setKeylineFraction(KEYLINE_FRACTION);
+        harness.idle();
+
+        assertThat(getStartOffset(harness.recyclerView, 1)).isEqualTo(SnapTestHarness.ITEM_SIZE);
+        assertThat(getStartOffset(other, 1)).isEqualTo(SnapTestHarness.ITEM_SIZE);
+
+        engine.apply(false);
+        harness.idle();
+
+        assertThat(getStartOffset(harness.recyclerView, 1)).isEqualTo(KEYLINE_START_OFFSET);
+        assertThat(getStartOffset(other, 1)).isEqualTo(KEYLINE_START_OFFSET);
+    }
+
+    @Test
+    public void testSetKeylineFractionSnapsEveryRecyclerViewSharingTheEngine() {
+        harness.getSnapHelper().setKeylineFraction(KEYLINE_FRACTION);
+        harness.settle();
+        harness.settle(other);
+
+        assertThat(getStartOffset(harness.recyclerView, 1)).isEqualTo(KEYLINE_START_OFFSET);
+        assertThat(getStartOffset(other, 1)).isEqualTo(KEYLINE_START_OFFSET);
+    }
+
+    private static int getStartOffset(@NonNull RecyclerView recyclerView, int position) {
+        final RecyclerView.ViewHolder holder =
+                recyclerView.findViewHolderForAdapterPosition(position);
+        assertThat(holder).isNotNull();
+        return recyclerView.getLayoutManager().getDecoratedLeft(holder.itemView)
+                - recyclerView.getPaddingLeft();
+    }
+
+}
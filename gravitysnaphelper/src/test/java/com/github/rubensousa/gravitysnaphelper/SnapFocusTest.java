@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.os.SystemClock;
+import android.view.KeyEvent;
+import android.view.View;
+
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class SnapFocusTest {
+
+    private SnapTestHarness harness;
+    private GravitySnapRecyclerView recyclerView;
+    private final List<Integer> snapPositions = new ArrayList<>();
+
+    @Before
+    public void setup() {
+        harness = new SnapTestHarness(20);
+        recyclerView = harness.recyclerView;
+        recyclerView.setLayoutManager(new SnapOnFocusLayoutManager(recyclerView.getContext(),
+                LinearLayoutManager.HORIZONTAL, false));
+        recyclerView.setSnapOnFocus(true);
+        harness.idle();
+        for (int i = 0; i < recyclerView.getChildCount(); i++) {
+            recyclerView.getChildAt(i).setFocusable(true);
+        }
+        harness.getSnapHelper().addSnapListener(new GravitySnapHelper.SnapListener() {
+            @Override
+            public void onSnap(int position) {
+                snapPositions.add(position);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        harness.destroy();
+    }
+
+    @Test
+    public void testFocusSnapsToFocusedItem() {
+        findViewByPosition(2).requestFocus();
+        harness.settle();
+
+        assertThat(snapPositions).containsExactly(2);
+        assertThat(harness.getStartOffset(2)).isEqualTo(0);
+    }
+
+    @Test
+    public void testFocusOnSnappedItemDoesNotScroll() {
+        findViewByPosition(0).requestFocus();
+
+        assertThat(recyclerView.getScrollStateMachine().getState())
+                .isEqualTo(ScrollStateMachine.SNAPPED);
+        assertThat(recyclerView.getScrollState()).isEqualTo(RecyclerView.SCROLL_STATE_IDLE);
+    }
+
+    @Test
+    public void testHeldKeyIsHandledOncePerFrame() {
+        findViewByPosition(0).requestFocus();
+        final KeyEvent repeat = createKeyRepeat();
+
+        assertThat(recyclerView.dispatchKeyEvent(repeat)).isFalse();
+        // Consumed until the next frame
+        assertThat(recyclerView.dispatchKeyEvent(repeat)).isTrue();
+        harness.advanceBy(16L);
+        assertThat(recyclerView.dispatchKeyEvent(repeat)).isFalse();
+    }
+
+    private View findViewByPosition(int position) {
+        final View view = recyclerView.getLayoutManager().findViewByPosition(position);
+        assertThat(view).isNotNull();
+        return view;
+    }
+
+    private static KeyEvent createKeyRepeat() {
+        final long time = SystemClock.uptimeMillis();
+        return new KeyEvent(time, time, KeyEvent.ACTION_DOWN, KeyEvent.KEYCODE_DPAD_RIGHT, 1);
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import androidx.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class SnapLayoutPassTest {
+
+    private SnapTestHarness harness;
+    private GravitySnapHelper snapHelper;
+    private final List<Integer> gestureLayoutPasses = new ArrayList<>();
+    private final List<Integer> snapPositions = new ArrayList<>();
+
+    @Before
+    public void setup() {
+        harness = new SnapTestHarness(20);
+        snapHelper = harness.getSnapHelper();
+        snapHelper.setMetricsSink(new SnapMetrics.Sink() {
+            @Override
+            public void onGestureMetrics(@NonNull SnapMetrics metrics) {
+                gestureLayoutPasses.add(metrics.getLayoutPasses());
+            }
+        });
+        snapHelper.addSnapListener(new GravitySnapHelper.SnapListener() {
+            @Override
+            public void onSnap(int position) {
+                snapPositions.add(position);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        harness.destroy();
+    }
+
+    @Test
+    public void testLayoutIsCountedOncePerPass() {
+        harness.recyclerView.requestLayout();
+        harness.idle();
+
+        assertThat(snapHelper.getMetrics().getLayoutPasses()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDragDoesNotLayout() {
+        harness.drag(SnapTestHarness.ITEM_SIZE + SnapTestHarness.ITEM_SIZE / 4);
+        harness.settle();
+
+        assertThat(snapPositions).containsExactly(1);
+        assertThat(harness.getStartOffset(1)).isEqualTo(0);
+        assertThat(gestureLayoutPasses).containsExactly(0);
+        assertThat(snapHelper.getMetrics().getResnapCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testSmoothScrollToPositionDoesNotLayout() {
+        harness.recyclerView.smoothScrollToPosition(10);
+        harness.settle();
+
+        assertThat(snapPositions).containsExactly(10);
+        assertThat(harness.getStartOffset(10)).isEqualTo(0);
+        assertThat(gestureLayoutPasses).containsExactly(0);
+        assertThat(snapHelper.getMetrics().getResnapCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testSnapToNextPositionDoesNotLayout() {
+        harness.recyclerView.snapToNextPosition(true);
+        harness.settle();
+
+        assertThat(snapPositions).containsExactly(1);
+        assertThat(harness.getStartOffset(1)).isEqualTo(0);
+        assertThat(gestureLayoutPasses).containsExactly(0);
+    }
+
+}
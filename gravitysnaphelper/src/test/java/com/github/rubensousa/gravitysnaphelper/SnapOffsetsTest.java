@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class SnapOffsetsTest {
+
+    // The first item is wider than the others, so the estimated scroll offset is wrong
+    private static final int FIRST_ITEM_SIZE = SnapTestHarness.ITEM_SIZE * 5 / 2;
+
+    private SnapTestHarness harness;
+    private GravitySnapHelper snapHelper;
+
+    @Before
+    public void setup() {
+        harness = new SnapTestHarness(20);
+        snapHelper = harness.getSnapHelper();
+        ((SnapTestHarness.TestAdapter) harness.recyclerView.getAdapter())
+                .resizeItem(0, FIRST_ITEM_SIZE);
+        harness.advanceBy(16L);
+        // One offset at the start of each item
+        final int[] offsets = new int[20];
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] = FIRST_ITEM_SIZE + (i - 1) * SnapTestHarness.ITEM_SIZE;
+        }
+        snapHelper.setSnapOffsets(new SnapOffsets(offsets));
+    }
+
+    @After
+    public void tearDown() {
+        harness.destroy();
+    }
+
+    @Test
+    public void testSnapsToOffsetAfterFirstItemIsRecycled() {
+        snapHelper.smoothScrollToPosition(3);
+        harness.settle();
+
+        assertThat(harness.getStartOffset(1)).isNull();
+        assertThat(harness.getStartOffset(3)).isEqualTo(0);
+        assertThat(snapHelper.getCurrentSnappedPosition()).isEqualTo(3);
+    }
+
+    @Test
+    public void testSnapsToOffsetAfterDrag() {
+        snapHelper.smoothScrollToPosition(3);
+        harness.settle();
+
+        harness.drag(SnapTestHarness.ITEM_SIZE + SnapTestHarness.ITEM_SIZE / 4);
+        harness.settle();
+
+        assertThat(harness.getStartOffset(4)).isEqualTo(0);
+        assertThat(snapHelper.getCurrentSnappedPosition()).isEqualTo(4);
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.view.Gravity;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class SnapResizeTest {
+
+    private static final int EXPANDED_SIZE = SnapTestHarness.ITEM_SIZE * 2;
+
+    private SnapTestHarness harness;
+    private SnapTestHarness.TestAdapter adapter;
+
+    @Before
+    public void setup() {
+        harness = new SnapTestHarness(20);
+        adapter = (SnapTestHarness.TestAdapter) harness.recyclerView.getAdapter();
+        final GravitySnapHelper snapHelper = harness.getSnapHelper();
+        snapHelper.setGravity(Gravity.CENTER);
+        snapHelper.setKeepSnapOnResize(true);
+        harness.recyclerView.smoothScrollToPosition(5);
+        harness.settle();
+    }
+
+    @After
+    public void tearDown() {
+        harness.destroy();
+    }
+
+    @Test
+    public void testResizedItemStaysCentered() {
+        adapter.resizeItem(5, EXPANDED_SIZE);
+        harness.advanceBy(16L);
+
+        assertCentered(5);
+    }
+
+    @Test
+    public void testResizedItemStaysCenteredWithFixedSize() {
+        // Item changes are laid out without a layout of the RecyclerView itself
+        harness.recyclerView.setHasFixedSize(true);
+
+        adapter.resizeItem(5, EXPANDED_SIZE);
+        harness.advanceBy(16L);
+
+        assertCentered(5);
+    }
+
+    private void assertCentered(int position) {
+        assertThat(harness.recyclerView.getScrollState())
+                .isEqualTo(RecyclerView.SCROLL_STATE_IDLE);
+        assertThat(harness.getStartOffset(position))
+                .isEqualTo((SnapTestHarness.ITEM_SIZE * SnapTestHarness.VISIBLE_ITEMS
+                        - EXPANDED_SIZE) / 2);
+        assertThat(harness.recyclerView.getCurrentSnappedPosition()).isEqualTo(position);
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class SnapSyncCoordinatorTest {
+
+    private SnapTestHarness harness;
+    private GravitySnapRecyclerView follower;
+    private SnapSyncCoordinator coordinator;
+
+    @Before
+    public void setup() {
+        harness = new SnapTestHarness(20);
+        follower = harness.addRecyclerView(20);
+        coordinator = new SnapSyncCoordinator();
+        coordinator.link(harness.getSnapHelper());
+        coordinator.link(follower.getSnapHelper());
+    }
+
+    @After
+    public void tearDown() {
+        coordinator.unlinkAll();
+        harness.destroy();
+    }
+
+    @Test
+    public void testFollowerIsNotSnappedBeforeLeaderSettles() {
+        harness.drag(SnapTestHarness.ITEM_SIZE + SnapTestHarness.ITEM_SIZE / 2);
+        harness.idle();
+
+        // The leader went idle on release, but its SnapHelper started a settle right after
+        assertThat(harness.recyclerView.getScrollState())
+                .isEqualTo(RecyclerView.SCROLL_STATE_SETTLING);
+        assertThat(getProgress(follower)).isEqualTo(getProgress(harness.recyclerView));
+    }
+
+    @Test
+    public void testFollowerIsSnappedOnceLeaderSettles() {
+        harness.drag(SnapTestHarness.ITEM_SIZE + SnapTestHarness.ITEM_SIZE / 2);
+        harness.settle();
+        harness.settle(follower);
+
+        final int position = harness.recyclerView.getCurrentSnappedPosition();
+        assertThat(position).isNotEqualTo(RecyclerView.NO_POSITION);
+        assertThat(follower.getCurrentSnappedPosition()).isEqualTo(position);
+        assertThat(getProgress(follower)).isEqualTo((float) position);
+    }
+
+    @Test
+    public void testUnlinkedFollowerIsNotSnapped() {
+        coordinator.unlink(follower.getSnapHelper());
+
+        harness.recyclerView.smoothScrollToPosition(5);
+        harness.settle();
+
+        assertThat(harness.recyclerView.getCurrentSnappedPosition()).isEqualTo(5);
+        assertThat(follower.getCurrentSnappedPosition()).isEqualTo(0);
+    }
+
+    private static float getProgress(GravitySnapRecyclerView recyclerView) {
+        return recyclerView.getSnapHelper().getSnapProgress(recyclerView.getLayoutManager());
+    }
+
+}
@@ -0,0 +1,487 @@
+/*
+ * Copyright 2026 Rúben Sousa
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.rubensousa.gravitysnaphelper;
+
+import static org.robolectric.Shadows.shadowOf;
+
+import android.annotation.SuppressLint;
+import android.app.Activity;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.SparseIntArray;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.robolectric.Robolectric;
+import org.robolectric.android.controller.ActivityController;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lays out a horizontal {@link GravitySnapRecyclerView} with fixed size items in an Activity
+ * and drives its main looper frame by frame.
+ * <p>
+ * Each item is {@link SnapTestHarness#ITEM_SIZE} px wide
+ * and the RecyclerView shows {@link SnapTestHarness#VISIBLE_ITEMS} of them at once.
+ * {@link SnapTestHarness#addFeed(int, int)} adds a vertical feed of such carousels,
+ * like the one of the sample app, showing {@link SnapTestHarness#VISIBLE_ROWS} rows at once.
+ */
+final class SnapTestHarness implements GestureReplayer.FrameDriver {
+
+    static final int ITEM_SIZE = 100;
+    static final int VISIBLE_ITEMS = 3;
+    static final int VISIBLE_ROWS = 3;
+
+    private static final long FRAME_MS = 16L;
+    private static final long MAX_SETTLE_MS = 10000L;
+    private static final int DRAG_STEPS = 10;
+    private static final int FLING_STEPS = 4;
+    // Long enough for the velocity of the release to be 0, so it doesn't fling
+    private static final long RELEASE_DELAY_MS = 500L;
+
+    @NonNull
+    private final ActivityController<Activity> controller;
+    @NonNull
+    private final FrameLayout root;
+    @NonNull
+    final GravitySnapRecyclerView recyclerView;
+
+    SnapTestHarness(int itemCount) {
+        controller = Robolectric.buildActivity(Activity.class).setup();
+        root = new FrameLayout(controller.get());
+        controller.get().setContentView(root);
+        recyclerView = addRecyclerView(itemCount);
+    }
+
+    /**
+     * Adds another RecyclerView with the same size to the Activity
+     */
+    @NonNull
+    GravitySnapRecyclerView addRecyclerView(int itemCount) {
+        final Activity activity = controller.get();
+        final GravitySnapRecyclerView view = new GravitySnapRecyclerView(activity);
+        view.setLayoutManager(new LinearLayoutManager(activity,
+                LinearLayoutManager.HORIZONTAL, false));
+        view.setAdapter(new TestAdapter(itemCount));
+        attachRecyclerView(view);
+        return view;
+    }
+
+    /**
+     * Adds a vertical RecyclerView with rowCount carousels of itemCount items to the Activity
+     */
+    @NonNull
+    RecyclerView addFeed(int rowCount, int itemCount) {
+        final Activity activity = controller.get();
+        final RecyclerView view = new RecyclerView(activity);
+        view.setLayoutManager(new LinearLayoutManager(activity,
+                LinearLayoutManager.VERTICAL, false));
+        view.setAdapter(new FeedAdapter(rowCount, itemCount));
+        root.addView(view, new FrameLayout.LayoutParams(ITEM_SIZE * VISIBLE_ITEMS,
+                ITEM_SIZE * VISIBLE_ROWS));
+        idle();
+        return view;
+    }
+
+    /**
+     * Adds a RecyclerView to the Activity, which attaches it to the window, and lays it out
+     */
+    void attachRecyclerView(@NonNull RecyclerView view) {
+        root.addView(view, new FrameLayout.LayoutParams(ITEM_SIZE * VISIBLE_ITEMS, ITEM_SIZE));
+        idle();
+    }
+
+    /**
+     * Removes a RecyclerView from the Activity, which detaches it from the window
+     */
+    void detachRecyclerView(@NonNull RecyclerView view) {
+        root.removeView(view);
+        idle();
+    }
+
+    @NonNull
+    GravitySnapHelper getSnapHelper() {
+        return recyclerView.getSnapHelper();
+    }
+
+    @NonNull
+    static TestAdapter getAdapter(@NonNull RecyclerView view) {
+        return (TestAdapter) view.getAdapter();
+    }
+
+    @NonNull
+    static FeedAdapter getFeedAdapter(@NonNull RecyclerView feed) {
+        return (FeedAdapter) feed.getAdapter();
+    }
+
+    /**
+     * @return the carousel of the row at position in a feed added with
+     * {@link SnapTestHarness#addFeed(int, int)}, or null if it's not laid out
+     */
+    static GravitySnapRecyclerView getCarousel(@NonNull RecyclerView feed, int position) {
+        final RecyclerView.ViewHolder holder = feed.findViewHolderForAdapterPosition(position);
+        return holder != null ? ((FeedAdapter.ViewHolder) holder).carousel : null;
+    }
+
+    /**
+     * Runs everything that is due on the main looper without advancing the clock
+     */
+    void idle() {
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+
+    @Override
+    public void advanceBy(long timeMs) {
+        shadowOf(Looper.getMainLooper()).idleFor(timeMs, TimeUnit.MILLISECONDS);
+    }
+
+    void settle() {
+        settle(recyclerView);
+    }
+
+    /**
+     * Runs frames until view stops scrolling
+     */
+    void settle(@NonNull RecyclerView view) {
+        long time = 0L;
+        while (view.getScrollState() != RecyclerView.SCROLL_STATE_IDLE
+                && time < MAX_SETTLE_MS) {
+            advanceBy(FRAME_MS);
+            time += FRAME_MS;
+        }
+        idle();
+    }
+
+    /**
+     * Drags the RecyclerView towards its start by distance px
+     * and releases it without a fling, so it snaps from where it stopped.
+     * The touch slop is taken from the distance before the RecyclerView starts scrolling.
+     */
+    void drag(int distance) {
+        final float y = ITEM_SIZE / 2f;
+        float x = ITEM_SIZE * VISIBLE_ITEMS / 2f + distance / 2f;
+        final long downTime = SystemClock.uptimeMillis();
+        dispatchTouch(downTime, MotionEvent.ACTION_DOWN, x, y);
+        for (int i = 0; i < DRAG_STEPS; i++) {
+            advanceBy(FRAME_MS);
+            x -= (float) distance / DRAG_STEPS;
+            dispatchTouch(downTime, MotionEvent.ACTION_MOVE, x, y);
+        }
+        advanceBy(RELEASE_DELAY_MS);
+        dispatchTouch(downTime, MotionEvent.ACTION_UP, x, y);
+    }
+
+    void fling(int distance) {
+        fling(recyclerView, distance);
+    }
+
+    /**
+     * Swipes view towards its start by distance px along the orientation of its LayoutManager
+     * and releases it while it's still moving, so it flings
+     */
+    void fling(@NonNull RecyclerView view, int distance) {
+        final boolean horizontal = view.getLayoutManager().canScrollHorizontally();
+        final float start = (horizontal ? view.getWidth() : view.getHeight()) - 1f;
+        final float cross = (horizontal ? view.getHeight() : view.getWidth()) / 2f;
+        float position = start;
+        final long downTime = SystemClock.uptimeMillis();
+        dispatchTouch(view, downTime, MotionEvent.ACTION_DOWN, horizontal, position, cross);
+        for (int i = 0; i < FLING_STEPS; i++) {
+            advanceBy(FRAME_MS);
+            position -= (float) distance / FLING_STEPS;
+            dispatchTouch(view, downTime, MotionEvent.ACTION_MOVE, horizontal, position, cross);
+        }
+        dispatchTouch(view, downTime, MotionEvent.ACTION_UP, horizontal, position, cross);
+    }
+
+    /**
+     * Calls {@link GravitySnapRecyclerView#snapToNextPosition(Boolean)} count times,
+     * one call every frame, e.g. when the next button of a carousel is tapped repeatedly
+     */
+    void snapToNextPositions(@NonNull GravitySnapRecyclerView view, int count) {
+        for (int i = 0; i < count; i++) {
+            view.snapToNextPosition(true);
+            advanceBy(FRAME_MS);
+        }
+    }
+
+    /**
+     * @return the distance in px between the start of the item at position
+     * and the start of the RecyclerView, or null if it's not laid out
+     */
+    Integer getStartOffset(int position) {
+        return getStartOffset(recyclerView, position);
+    }
+
+    /**
+     * @return the distance in px between the start of the item at position
+     * and the start of the horizontal view, or null if it's not laid out
+     */
+    static Integer getStartOffset(@NonNull RecyclerView view, int position) {
+        final RecyclerView.ViewHolder holder = view.findViewHolderForAdapterPosition(position);
+        if (holder == null) {
+            return null;
+        }
+        final RecyclerView.LayoutManager lm = view.getLayoutManager();
+        return lm.getDecoratedLeft(holder.itemView) - view.getPaddingLeft();
+    }
+
+    /**
+     * Gives the window of the Activity focus, which some features wait for, e.g. auto advance
+     */
+    void focusWindow() {
+        controller.windowFocusChanged(true);
+        idle();
+    }
+
+    void destroy() {
+        controller.pause().stop().destroy();
+    }
+
+    /**
+     * @return the bytes allocated so far by the current thread
+     * or -1 if the JVM can't measure them
+     */
+    static long getAllocatedBytes() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return -1L;
+        }
+        final com.sun.management.ThreadMXBean allocationBean =
+                (com.sun.management.ThreadMXBean) bean;
+        if (!allocationBean.isThreadAllocatedMemorySupported()
+                || !allocationBean.isThreadAllocatedMemoryEnabled()) {
+            return -1L;
+        }
+        return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private void dispatchTouch(long downTime, int action, float x, float y) {
+        dispatchTouch(recyclerView, downTime, action, true, x, y);
+    }
+
+    private static void dispatchTouch(@NonNull RecyclerView view, long downTime, int action,
+                                      boolean horizontal, float position, float cross) {
+        final MotionEvent event = MotionEvent.obtain(downTime, SystemClock.uptimeMillis(),
+                action, horizontal ? position : cross, horizontal ? cross : position, 0);
+        view.dispatchTouchEvent(event);
+        event.recycle();
+    }
+
+    /**
+     * Keeps the metrics of every gesture reported by a {@link GravitySnapHelper}
+     */
+    static final class GestureLog implements SnapMetrics.Sink {
+
+        final List<Integer> findSnapViewCalls = new ArrayList<>();
+        final List<Integer> settleFrames = new ArrayList<>();
+        final List<Integer> layoutPasses = new ArrayList<>();
+
+        GestureLog(@NonNull GravitySnapHelper snapHelper) {
+            snapHelper.setMetricsSink(this);
+        }
+
+        @Override
+        public void onGestureMetrics(@NonNull SnapMetrics metrics) {
+            findSnapViewCalls.add(metrics.getFindSnapViewCalls());
+            settleFrames.add(metrics.getSettleFrames());
+            layoutPasses.add(metrics.getLayoutPasses());
+        }
+
+        int getTotalFindSnapViewCalls() {
+            return sum(findSnapViewCalls);
+        }
+
+        int getTotalSettleFrames() {
+            return sum(settleFrames);
+        }
+
+        int getTotalLayoutPasses() {
+            return sum(layoutPasses);
+        }
+
+        private static int sum(@NonNull List<Integer> values) {
+            int sum = 0;
+            for (int i = 0; i < values.size(); i++) {
+                sum += values.get(i);
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * Shows a {@link GravitySnapRecyclerView} carousel with its own {@link TestAdapter} per row,
+     * like the feed of the sample app
+     */
+    static final class FeedAdapter extends RecyclerView.Adapter<FeedAdapter.ViewHolder> {
+
+        private final List<TestAdapter> carouselAdapters = new ArrayList<>();
+        private final int itemCount;
+        private int rowCount;
+        private int bindCount;
+
+        FeedAdapter(int rowCount, int itemCount) {
+            this.rowCount = rowCount;
+            this.itemCount = itemCount;
+        }
+
+        /**
+         * Appends rows, e.g. once they're loaded
+         */
+        void insertRows(int count) {
+            rowCount += count;
+            notifyItemRangeInserted(rowCount - count, count);
+        }
+
+        int getBindCount() {
+            return bindCount;
+        }
+
+        /**
+         * @return the binds of the items of every carousel created so far
+         */
+        int getItemBindCount() {
+            int count = 0;
+            for (int i = 0; i < carouselAdapters.size(); i++) {
+                count += carouselAdapters.get(i).getBindCount();
+            }
+            return count;
+        }
+
+        @NonNull
+        @Override
+        public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            final GravitySnapRecyclerView carousel = new GravitySnapRecyclerView(
+                    parent.getContext());
+            carousel.setLayoutParams(new RecyclerView.LayoutParams(
+                    ViewGroup.LayoutParams.MATCH_PARENT, ITEM_SIZE));
+            carousel.setLayoutManager(new LinearLayoutManager(parent.getContext(),
+                    LinearLayoutManager.HORIZONTAL, false));
+            final TestAdapter adapter = new TestAdapter(0);
+            carouselAdapters.add(adapter);
+            carousel.setAdapter(adapter);
+            return new ViewHolder(carousel);
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+            bindCount++;
+            getAdapter(holder.carousel).setItemCount(itemCount);
+            holder.carousel.scrollToPosition(0);
+        }
+
+        @Override
+        public int getItemCount() {
+            return rowCount;
+        }
+
+        static final class ViewHolder extends RecyclerView.ViewHolder {
+
+            @NonNull
+            final GravitySnapRecyclerView carousel;
+
+            ViewHolder(@NonNull GravitySnapRecyclerView carousel) {
+                super(carousel);
+                this.carousel = carousel;
+            }
+        }
+    }
+
+    static final class TestAdapter extends RecyclerView.Adapter<TestAdapter.ViewHolder> {
+
+        // Lets the ItemAnimator rebind the same view instead of running a change animation
+        private static final Object PAYLOAD_RESIZE = new Object();
+
+        // Sizes of the items that aren't ITEM_SIZE
+        private final SparseIntArray itemSizes = new SparseIntArray();
+        private int itemCount;
+        private int bindCount;
+
+        TestAdapter(int itemCount) {
+            this.itemCount = itemCount;
+        }
+
+        /**
+         * Replaces all items, e.g. when the row of a feed is bound to another list
+         */
+        @SuppressLint("NotifyDataSetChanged")
+        void setItemCount(int count) {
+            itemCount = count;
+            notifyDataSetChanged();
+        }
+
+        int getBindCount() {
+            return bindCount;
+        }
+
+        /**
+         * Appends items, e.g. once they're loaded
+         */
+        void insertItems(int count) {
+            itemCount += count;
+            notifyItemRangeInserted(itemCount - count, count);
+        }
+
+        /**
+         * Changes the size of the item at position in place, e.g. when a card expands
+         */
+        void resizeItem(int position, int size) {
+            itemSizes.put(position, size);
+            notifyItemChanged(position, PAYLOAD_RESIZE);
+        }
+
+        @NonNull
+        @Override
+        public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            final View view = new View(parent.getContext());
+            view.setLayoutParams(new RecyclerView.LayoutParams(ITEM_SIZE, ITEM_SIZE));
+            return new ViewHolder(view);
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+            bindCount++;
+            final int size = itemSizes.get(position, ITEM_SIZE);
+            final ViewGroup.LayoutParams params = holder.itemView.getLayoutParams();
+            if (params.width != size) {
+                params.width = size;
+                holder.itemView.setLayoutParams(params);
+            }
+        }
+
+        @Override
+        public int getItemCount() {
+            return itemCount;
+        }
+
+        static final class ViewHolder extends RecyclerView.ViewHolder {
+            ViewHolder(@NonNull View itemView) {
+                super(itemView);
+            }
+        }
+    }
+}
@@ -24,3 +24,4 @@ dependencyResolutionManagement {
 rootProject.name = "GravitySnapHelper"
 include(":app")
 include(":gravitysnaphelper")
+include(":gravitysnaphelper-ktx")